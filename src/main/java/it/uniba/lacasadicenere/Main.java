@@ -3,8 +3,9 @@
  */
 package it.uniba.lacasadicenere;
 
-import it.uniba.lacasadicenere.database.DatabaseH2;
+import it.uniba.lacasadicenere.database.DescriptionRepository;
 import it.uniba.lacasadicenere.server.RestServer;
+import it.uniba.lacasadicenere.util.AssetPreloader;
 import it.uniba.lacasadicenere.view.MainFrame;
 
 /**
@@ -17,10 +18,11 @@ public class Main {
      * @param args
      */
     public static void main(final String[] args) {
+        AssetPreloader.start();
         new MainFrame();
         
         try {
-            DatabaseH2.connect();
+            DescriptionRepository.getInstance();
         } catch (Exception e) {
             e.printStackTrace();
         }
@@ -29,16 +29,6 @@ public class CommandHandler {
     
     private Engine gameLogic;
 
-    private Runnable onRoomChange;
-
-    /**
-     * Imposta il callback da chiamare quando la stanza cambia.
-     * @param onRoomChange callback
-     */
-    public void setOnRoomChangeListener(Runnable onRoomChange) {
-        this.onRoomChange = onRoomChange;
-    }
-
     /**
      * Crea un comportamento per i comandi di movimento direzionale.
      */
@@ -53,11 +43,6 @@ public class CommandHandler {
                 if(corridor != null && !corridor.isLocked()) {
                 game.setCurrentRoom(corridor.getArrivingRoom());
                 DatabaseH2.printFromDB("Osserva", game.getCurrentRoom().getName(), "true", "0", "0");
-
-                if (onRoomChange != null) {
-                    onRoomChange.run();
-                }
-                
             } else if (corridor != null && corridor.isLocked()) {
                 OutputService.displayText("Il corridoio verso " + direction + " è bloccato!");
             } else {
@@ -113,7 +98,7 @@ public class CommandHandler {
             if(game.getCurrentRoom().getItems().contains(p.getItem1())) {
                 if(p.getItem1().isPickable()) {
                     game.addInventory(p.getItem1());
-                    game.getCurrentRoom().removeItem(p.getItem1().getName());
+                    game.removeItemFromRoom(game.getCurrentRoom(), p.getItem1().getName());
                     gameLogic.postPickUp(p.getItem1());
                     OutputService.displayText("Hai raccolto " + p.getItem1().getName() + ".");
                 } else {
@@ -126,7 +111,7 @@ public class CommandHandler {
 
             if (parentContainer != null) {
                 if (p.getItem1().isPickable()) { 
-                    parentContainer.remove(p.getItem1()); 
+                    game.removeFromContainer(parentContainer, p.getItem1());
                     game.addInventory(p.getItem1());
                     OutputService.displayText("Hai preso " + p.getItem1().getName() + " da " + parentContainer.getName() + ".");
                 } else {
@@ -187,7 +172,7 @@ public class CommandHandler {
 
             game.removeInventory(p.getItem1());
             if (game.getCurrentRoom() != null) {
-                game.getCurrentRoom().addItems(p.getItem1());
+                game.addItemsToRoom(game.getCurrentRoom(), p.getItem1());
             }
             OutputService.displayText("Hai lasciato " + p.getItem1().getName() + " nella stanza.");
 
@@ -0,0 +1,140 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package it.uniba.lacasadicenere.controller;
+
+import it.uniba.lacasadicenere.model.Command;
+import it.uniba.lacasadicenere.type.CommandType;
+import it.uniba.lacasadicenere.util.FuzzyIndex;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Lessico immutabile dei comandi: associa ogni nome e alias in minuscolo al tipo di comando.
+ * È una tabella a indirizzamento aperto con scansione lineare, riempita al più per metà,
+ * quindi una ricerca costa un hash (già memorizzato nella String) e in media un confronto.
+ * Per le parole non trovate è disponibile una ricerca tollerante agli errori di battitura.
+ */
+public final class CommandLexicon {
+
+    /**
+     * Chiavi e valori della tabella; una chiave null indica una cella vuota.
+     */
+    private final String[] keys;
+    private final CommandType[] values;
+
+    /**
+     * Maschera e spostamento per ridurre l'hash alla dimensione della tabella (potenza di due).
+     */
+    private final int mask;
+    private final int shift;
+
+    /**
+     * Numero di voci presenti.
+     */
+    private final int size;
+
+    /**
+     * Le stesse voci in un FuzzyIndex, per la ricerca tollerante.
+     */
+    private final FuzzyIndex<CommandType> fuzzy = new FuzzyIndex<>();
+
+    private CommandLexicon(Map<String, CommandType> entries) {
+        int capacity = 16;
+        while (capacity < entries.size() * 2) {
+            capacity <<= 1;
+        }
+        keys = new String[capacity];
+        values = new CommandType[capacity];
+        mask = capacity - 1;
+        shift = Integer.numberOfLeadingZeros(mask);
+        size = entries.size();
+
+        for (Map.Entry<String, CommandType> entry : entries.entrySet()) {
+            int i = slot(entry.getKey());
+            while (keys[i] != null) {
+                i = (i + 1) & mask;
+            }
+            keys[i] = entry.getKey();
+            values[i] = entry.getValue();
+            fuzzy.put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Costruisce il lessico a partire dai comandi di gioco.
+     * Se lo stesso nome o alias compare in più comandi vale la prima occorrenza.
+     * @param commands comandi disponibili
+     * @return il lessico dei comandi
+     */
+    public static CommandLexicon of(Collection<Command> commands) {
+        Map<String, CommandType> entries = new LinkedHashMap<>();
+        for (Command command : commands) {
+            if (command.getName() != null) {
+                entries.putIfAbsent(command.getName().toLowerCase(), command.getType());
+            }
+            if (command.getAliases() != null) {
+                for (String alias : command.getAliases()) {
+                    if (alias != null) {
+                        entries.putIfAbsent(alias.toLowerCase(), command.getType());
+                    }
+                }
+            }
+        }
+        return new CommandLexicon(entries);
+    }
+
+    /**
+     * Cerca il tipo di comando associato a una parola.
+     * @param word parola già in minuscolo
+     * @return il tipo di comando, o null se la parola non è un comando
+     */
+    public CommandType lookup(String word) {
+        if (word == null) {
+            return null;
+        }
+        int i = slot(word);
+        String key;
+        while ((key = keys[i]) != null) {
+            if (key.equals(word)) {
+                return values[i];
+            }
+            i = (i + 1) & mask;
+        }
+        return null;
+    }
+
+    /**
+     * Cerca il tipo di comando associato a una parola, tollerando errori di battitura
+     * se la parola non corrisponde esattamente a nessuna voce.
+     * @param word parola già in minuscolo
+     * @param maxDistance distanza di edit massima; 0 disattiva la tolleranza
+     * @return il tipo di comando, o null se nessuna voce è abbastanza vicina
+     */
+    public CommandType lookup(String word, int maxDistance) {
+        CommandType type = lookup(word);
+        if (type == null && word != null && maxDistance > 0) {
+            type = fuzzy.find(word, FuzzyIndex.tolerance(word, maxDistance));
+        }
+        return type;
+    }
+
+    /**
+     * Restituisce il numero di nomi e alias presenti nel lessico.
+     * @return numero di voci
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Hash moltiplicativo (Fibonacci): gli alias con hash consecutivi, come "alias1" e "alias2",
+     * finiscono in celle distanti invece di formare lunghe sequenze di celle occupate.
+     */
+    private int slot(String key) {
+        return (key.hashCode() * 0x9E3779B9) >>> shift;
+    }
+}
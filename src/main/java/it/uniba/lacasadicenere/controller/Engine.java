@@ -85,9 +85,9 @@ public class Engine {
             scrignoContainer.setOpen(true);
 
             for (Item contained : scrignoContainer.getList()) {
-                game.getCurrentRoom().addItems(contained);
+                game.addItemsToRoom(game.getCurrentRoom(), contained);
             }
-            scrignoContainer.getList().clear();
+            game.emptyContainer(scrignoContainer);
 
             game.removeInventory(item1);
             DatabaseH2.printFromDB("Usa", game.getCurrentRoom().getName(), 
@@ -123,14 +123,14 @@ public class Engine {
             boolean hasDiario = game.getCurrentRoom().getItems().stream().anyMatch(i -> i.hasName("Diario"));
 
             if(hasCandela && hasAmuleto && hasDiario) {
-                while(InputService.Event != 0) {
+                while(InputService.getEvent() != 0) {
                     try {
                         Thread.sleep(100); 
                     } catch (InterruptedException e) {
                         Thread.currentThread().interrupt();
                     }
                 }
-                InputService.Event = 2;
+                InputService.setEvent(2);
                 InputService.gameFlow("");
             }
         }
@@ -9,6 +9,7 @@ import it.uniba.lacasadicenere.model.Game;
 import it.uniba.lacasadicenere.model.Item;
 import it.uniba.lacasadicenere.model.Command;
 import it.uniba.lacasadicenere.model.ItemContainer;
+import it.uniba.lacasadicenere.service.GameSession;
 import it.uniba.lacasadicenere.type.CommandType;
 import it.uniba.lacasadicenere.util.GameSerializer;
 
@@ -21,21 +22,16 @@ import java.util.stream.Stream;
  */
 public class GameController {
     
-    /**
-     * Mappa degli oggetti di gioco.
-     */
-    private static Map<String, Item> items = new HashMap<>();
-    
     /**
      * Riferimento all'istanza del convertitore.
      */
     private final GameSerializer converter = new GameSerializer();
     
     /**
-     * Inizializza una nuova istanza di GameController.
+     * Crea una nuova partita nella sessione corrente.
      */
     public void createGame() {
-        items = converter.convertJsonToJavaClass();
+        GameSession.current().setItems(converter.convertJsonToJavaClass());
     }
     
     /**
@@ -51,7 +47,8 @@ public class GameController {
      * @return true se il caricamento è avvenuto con successo, false altrimenti
      */
     public boolean loadGame() {
-        items = converter.loadGame();
+        Map<String, Item> items = converter.loadGame();
+        GameSession.current().setItems(items);
         
         return items != null && !items.isEmpty();
     }
@@ -134,9 +131,9 @@ public class GameController {
     }
     
     /**
-     * Resetta tutti gli oggetti di gioco.
+     * Resetta tutti gli oggetti di gioco della sessione corrente.
      */
     public void resetItems() {
-        items = new HashMap<>();
+        GameSession.current().setItems(new HashMap<>());
     }
 }
\ No newline at end of file
@@ -4,18 +4,16 @@
  */
 package it.uniba.lacasadicenere.controller;
 
-import it.uniba.lacasadicenere.model.Command;
 import it.uniba.lacasadicenere.model.Game;
 import it.uniba.lacasadicenere.model.Item;
-import it.uniba.lacasadicenere.model.ItemContainer;
+import it.uniba.lacasadicenere.type.CommandType;
 import it.uniba.lacasadicenere.type.ParserOutput;
+import it.uniba.lacasadicenere.util.FuzzyIndex;
 
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
-import java.util.Arrays;
-import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -25,57 +23,54 @@ import java.util.Set;
 public class Parser {
 
     /**
-     * Insieme dei comandi di gioco disponibili.
+     * Lessico dei comandi di gioco, costruito una sola volta all'avvio.
      */
-    private final Set<Command> availableCommands;
+    private static final CommandLexicon COMMANDS = CommandLexicon.of(new GameController().getAllCommands());
 
     /**
-     * Insieme degli oggetti di gioco disponibili.
+     * Distanza di edit massima predefinita: 0, cioè comandi e oggetti vanno scritti esattamente.
      */
-    private Set<Item> availableItems;
+    public static final int DEFAULT_MAX_EDIT_DISTANCE = 0;
 
     /**
-     * Riferimento all'istanza del GameController.
+     * Distanza di edit con cui viene creato ogni Parser, impostabile all'avvio con
+     * -Dlacasadicenere.maxEditDistance=1 per tollerare gli errori di battitura.
      */
-    private final GameController gameManager;
+    private static final int INITIAL_MAX_EDIT_DISTANCE =
+            parseMaxEditDistance(System.getProperty("lacasadicenere.maxEditDistance"));
 
     /**
-     * Insieme delle parole inutili (stopwords) da ignorare durante il parsing.
+     * Insieme delle parole inutili (stopwords) da ignorare durante il parsing,
+     * letto una sola volta e condiviso da tutti i Parser.
      */
-    private final Set<String> stopwords = new HashSet<>();
+    private static final Set<String> STOPWORDS = loadStopwords();
+
+    /**
+     * Tokenizer riutilizzato tra un comando e l'altro.
+     */
+    private final Tokenizer tokenizer;
+
+    /**
+     * Array riutilizzato per gli oggetti riconosciuti nel comando.
+     */
+    private final Item[] found = new Item[2];
+
+    /**
+     * Distanza di edit massima tollerata su comandi e oggetti; 0 richiede parole esatte.
+     */
+    private int maxEditDistance = INITIAL_MAX_EDIT_DISTANCE;
     
     /**
      * Costruttore del Parser.
-     * Carica i comandi disponibili e le stopwords.
+     * Ricostruisce l'indice degli oggetti della partita corrente.
      */
     public Parser() {
-        gameManager = new GameController();
-        availableCommands = gameManager.getAllCommands();
+        tokenizer = new Tokenizer(STOPWORDS);
 
-        availableItems = new HashSet<>();
-        if(gameManager.getItems() != null) {
-        availableItems.addAll(gameManager.getItems());
-        }
         Game game = Game.getInstance();
-        if (game != null && game.getInventory() != null) {
-            availableItems.addAll(game.getInventory());
-        }
-        
-        Set<Item> allItems = new HashSet<>(availableItems);
-        for (Item item : availableItems) {
-            if (item instanceof ItemContainer) {
-                ItemContainer container = (ItemContainer) item;
-                if (container.getList() != null) {  
-                    allItems.addAll(container.getList());
-                }
-            }
-        }
-        availableItems = allItems;
-    
-        try {
-            setUpUselessWords();
-        } catch (IOException e) {
-            throw new RuntimeException("Errore durante il caricamento delle stopwords", e);
+        if (game != null) {
+            game.getItemIndex().setStopwords(STOPWORDS);
+            game.rebuildItemIndex();
         }
     }
 
@@ -86,154 +81,104 @@ public class Parser {
      * @return ParserOutput contenente comando e oggetto (se presente)
      */
     public ParserOutput parse(String input) {
-        
-        updateAvailableItems();
-
-        ParserOutput output = new ParserOutput();
+        return parse(input, new ParserOutput());
+    }
 
-        if (input == null || input.trim().isEmpty()) {
-            return output;
-        }
-        
-        String[] words = Arrays.stream(input.split("\\s+"))
-                .map(String::toLowerCase)
-                .filter(word -> !word.isEmpty())
-                .filter(word -> !stopwords.contains(word))
-                .toArray(String[]::new);
+    /**
+     * Analizza l'input dell'utente riempiendo un ParserOutput fornito dal chiamante.
+     * Con un ParserOutput riutilizzato, l'analisi di parole già viste non alloca memoria.
+     * 
+     * @param input Il testo inserito dall'utente
+     * @param output ParserOutput da riempire; il contenuto precedente viene azzerato
+     * @return output, contenente comando e oggetto (se presente)
+     */
+    public ParserOutput parse(String input, ParserOutput output) {
+        output.reset();
 
-        if (words.length == 0) {
+        int words = tokenizer.tokenize(input);
+        if (words == 0) {
             return output;
         }
         
-        for (Command command : availableCommands) {
-            if (command.getName().equalsIgnoreCase(words[0]) ||
-                    command.getAliases().stream().anyMatch(alias -> alias.equalsIgnoreCase(words[0]))) {
-                output.setCommand(command.getType());
-                output.setArgs(0);
-                break;
-            }
+        CommandType command = COMMANDS.lookup(tokenizer.token(0), maxEditDistance);
+        if (command != null) {
+            output.setCommand(command);
+            output.setArgs(0);
         }
 
         if (output.getCommand() == null) {
             return output;
         }
 
-        if(words.length > 1) {
-            Item found = findObjectByName(words[1]);
-            if(found != null) {
-                output.setItem1(found);
-                output.setArgs(1); 
-            } else {
-                String rest = String.join(" ", Arrays.copyOfRange(words, 1, words.length));
-                Item foundRest = findObjectByName(rest);
-                if (foundRest != null) {
-                    output.setItem1(foundRest);
-                    output.setArgs(1);
-                } else {
-                    output.setArgs(0);
-                }
+        if (words > 1) {
+            int items = Game.getInstance().getItemIndex().segment(tokenizer.tokens(), 1, words, found, maxEditDistance);
+            if (items > 0) {
+                output.setItem1(found[0]);
+                output.setArgs(1);
             }
-        } 
-
-        if(words.length > 2) {
-            Item found = findObjectByName(words[2]);
-            if(found != null) {
-                output.setItem2(found);
+            if (items > 1) {
+                output.setItem2(found[1]);
                 output.setArgs(2);
-            } else {
-                String rest = String.join(" ", Arrays.copyOfRange(words, 2, words.length));
-                Item foundRest = findObjectByName(rest);
-                if (foundRest != null) {
-                    output.setItem2(foundRest);
-                    output.setArgs(2);
-                }
             }
         }
-    
+
         return output;
     }
 
     /**
-     * Aggiorna l'insieme degli oggetti disponibili per il parsing.
+     * Imposta la distanza di edit massima tollerata nel riconoscere comandi e oggetti.
+     * Con 1, "prnedi candla" viene interpretato come "prendi candela".
+     * Le parole di meno di quattro lettere vanno comunque scritte correttamente.
+     * 
+     * @param maxEditDistance distanza massima, al più FuzzyIndex.MAX_DISTANCE; 0 disattiva la correzione
      */
-    private void updateAvailableItems() {
-        availableItems = new HashSet<>();
-        
-        if (gameManager.getItems() != null) {
-            availableItems.addAll(gameManager.getItems());
-        }
-        
-        Game game = Game.getInstance();
-        if (game != null) {
-            if (game.getInventory() != null) {
-                availableItems.addAll(game.getInventory());
-            }
-            
-            if (game.getCurrentRoom() != null && game.getCurrentRoom().getItems() != null) {
-                availableItems.addAll(game.getCurrentRoom().getItems());
-            }
-        }
-        
-        Set<Item> allItems = new HashSet<>(availableItems);
-        extractItemsFromContainers(allItems, availableItems);
-        availableItems = allItems;
+    public void setMaxEditDistance(int maxEditDistance) {
+        this.maxEditDistance = Math.max(0, Math.min(maxEditDistance, FuzzyIndex.MAX_DISTANCE));
     }
 
     /**
-     * Metodo ricorsivo per estrarre gli oggetti contenuti nei container.
-     * @param target
-     * @param source
+     * Restituisce la distanza di edit massima tollerata.
+     * 
+     * @return distanza massima
      */
-    private void extractItemsFromContainers(Set<Item> target, Collection<Item> source) {
-    for (Item item : source) {
-        if (item instanceof ItemContainer) {
-            ItemContainer container = (ItemContainer) item;
-            if (container.getList() != null && !container.getList().isEmpty()) {
-                target.addAll(container.getList());
-                extractItemsFromContainers(target, container.getList());
-            }
-        }
+    public int getMaxEditDistance() {
+        return maxEditDistance;
     }
-}
 
-    /**
-     * Cerca un oggetto per nome o alias tra tutti gli oggetti disponibili.
-     * 
-     * @param name Il nome o alias dell'oggetto da cercare
-     * @return L'oggetto trovato, o null se non esiste
-     */
-     private Item findObjectByName(String name) {
-        if (name == null || name.trim().isEmpty()) {
-            return null;
+    private static int parseMaxEditDistance(String value) {
+        if (value == null || value.isBlank()) {
+            return DEFAULT_MAX_EDIT_DISTANCE;
         }
-        
-        String target = name.trim().toLowerCase();
-        for(Item item : availableItems) {
-            if (item == null) continue;
-            
-            String nm = item.getName() != null ? item.getName().toLowerCase() : "";
-            if (!nm.isEmpty() && nm.equalsIgnoreCase(target)) {
-                return item;
-            }
-            
-            if (item.getAliases() != null) {
-                for (String alias : item.getAliases()) {
-                    if (alias != null && alias.equalsIgnoreCase(target)) {
-                        return item;
-                    }
-                }
-            }
+        try {
+            return Math.max(0, Math.min(Integer.parseInt(value.trim()), FuzzyIndex.MAX_DISTANCE));
+        } catch (NumberFormatException e) {
+            System.err.println("Distanza di edit non valida: " + value + ", uso " + DEFAULT_MAX_EDIT_DISTANCE);
+            return DEFAULT_MAX_EDIT_DISTANCE;
         }
-        return null;
     }
 
     /**
      * Carica le stopwords dal file nel classpath.
      * Le stopwords sono parole che vengono ignorate durante il parsing (es. "il", "la", "un").
      * 
+     * @return insieme non modificabile delle stopwords
+     */
+    private static Set<String> loadStopwords() {
+        try {
+            Set<String> stopwords = new HashSet<>();
+            setUpUselessWords(stopwords);
+            return Set.copyOf(stopwords);
+        } catch (IOException e) {
+            throw new RuntimeException("Errore durante il caricamento delle stopwords", e);
+        }
+    }
+
+    /**
+     * Legge le stopwords dal file, o dal classpath se il file non esiste.
+     * @param stopwords insieme a cui aggiungere le stopwords
      * @throws IOException Se il file non può essere letto
      */
-    private void setUpUselessWords() throws IOException {
+    private static void setUpUselessWords(Set<String> stopwords) throws IOException {
         File file = new File("src/main/resources/stopwords.txt");
         if (file.exists()) {
             try(BufferedReader reader = new BufferedReader(new FileReader(file))) {
@@ -0,0 +1,217 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package it.uniba.lacasadicenere.controller;
+
+import java.util.Set;
+
+/**
+ * Scompone l'input dell'utente in parole in un'unica scansione.
+ * Le lettere vengono portate in minuscolo durante la scansione e ogni parola viene
+ * ricondotta a un'istanza String condivisa tramite una tabella interna, così
+ * le parole già viste non producono nuove allocazioni. Le stopwords vengono
+ * scartate nello stesso passaggio.
+ *
+ * La tabella parte piccola e raddoppia quando è piena per metà, fino a MAX_WORDS parole,
+ * così un Tokenizer usato per pochi comandi occupa poca memoria.
+ *
+ * Non è thread-safe: ogni Parser usa il proprio Tokenizer.
+ */
+public class Tokenizer {
+
+    /**
+     * Numero massimo di parole distinte memorizzate; oltre questo limite
+     * le parole nuove vengono restituite senza essere memorizzate.
+     */
+    private static final int MAX_WORDS = 4096;
+
+    /**
+     * Numero di celle iniziali della tabella (potenza di due).
+     */
+    private static final int INITIAL_SLOTS = 256;
+
+    /**
+     * Tabella a indirizzamento aperto delle parole note.
+     */
+    private String[] words = new String[INITIAL_SLOTS];
+    private int[] hashes = new int[INITIAL_SLOTS];
+    private boolean[] stop = new boolean[INITIAL_SLOTS];
+    private int mask = INITIAL_SLOTS - 1;
+    private int wordCount = 0;
+
+    /**
+     * Buffer riutilizzati per i caratteri in minuscolo e per le parole trovate.
+     */
+    private char[] buffer = new char[128];
+    private String[] tokens = new String[16];
+    private int tokenCount = 0;
+
+    /**
+     * Costruttore del Tokenizer.
+     * @param stopwords parole da ignorare, in minuscolo
+     */
+    public Tokenizer(Set<String> stopwords) {
+        for (String word : stopwords) {
+            int slot = intern(word.toCharArray(), 0, word.length(), word.hashCode());
+            if (slot >= 0) {
+                stop[slot] = true;
+            }
+        }
+    }
+
+    /**
+     * Scompone il testo in parole, scartando spazi e stopwords.
+     * @param input testo inserito dall'utente
+     * @return il numero di parole trovate
+     */
+    public int tokenize(String input) {
+        tokenCount = 0;
+        if (input == null) {
+            return 0;
+        }
+
+        int length = input.length();
+        if (buffer.length < length) {
+            buffer = new char[Math.max(length, buffer.length * 2)];
+        }
+
+        int start = 0;
+        int pos = 0;
+        int hash = 0;
+        for (int i = 0; i <= length; i++) {
+            char c = i < length ? input.charAt(i) : ' ';
+            if (isSpace(c)) {
+                if (pos > start) {
+                    addToken(start, pos - start, hash);
+                }
+                start = pos;
+                hash = 0;
+            } else {
+                char lower = Character.toLowerCase(c);
+                buffer[pos++] = lower;
+                hash = 31 * hash + lower;
+            }
+        }
+        return tokenCount;
+    }
+
+    /**
+     * Restituisce il numero di parole trovate dall'ultima scomposizione.
+     * @return numero di parole
+     */
+    public int count() {
+        return tokenCount;
+    }
+
+    /**
+     * Restituisce una parola trovata dall'ultima scomposizione.
+     * @param index posizione della parola
+     * @return la parola in minuscolo
+     */
+    public String token(int index) {
+        return tokens[index];
+    }
+
+    /**
+     * Restituisce l'array interno delle parole trovate dall'ultima scomposizione.
+     * Solo le prime count() posizioni sono valide, fino alla scomposizione successiva.
+     * @return le parole in minuscolo
+     */
+    public String[] tokens() {
+        return tokens;
+    }
+
+    /**
+     * Aggiunge una parola alla scomposizione corrente, a meno che sia una stopword.
+     */
+    private void addToken(int offset, int length, int hash) {
+        int slot = intern(buffer, offset, length, hash);
+        if (slot >= 0 && stop[slot]) {
+            return;
+        }
+        if (tokenCount == tokens.length) {
+            String[] larger = new String[tokens.length * 2];
+            System.arraycopy(tokens, 0, larger, 0, tokens.length);
+            tokens = larger;
+        }
+        tokens[tokenCount++] = slot >= 0 ? words[slot] : new String(buffer, offset, length);
+    }
+
+    /**
+     * Cerca una parola nella tabella e la memorizza se non è presente.
+     * @return la cella della parola, o -1 se la tabella è piena
+     */
+    private int intern(char[] chars, int offset, int length, int hash) {
+        int i = slot(hash);
+        String word;
+        while ((word = words[i]) != null) {
+            if (hashes[i] == hash && matches(word, chars, offset, length)) {
+                return i;
+            }
+            i = (i + 1) & mask;
+        }
+        if (wordCount >= MAX_WORDS) {
+            return -1;
+        }
+        if (wordCount * 2 >= words.length) {
+            grow();
+            i = slot(hash);
+            while (words[i] != null) {
+                i = (i + 1) & mask;
+            }
+        }
+        words[i] = new String(chars, offset, length);
+        hashes[i] = hash;
+        wordCount++;
+        return i;
+    }
+
+    private int slot(int hash) {
+        return (hash * 0x9E3779B9) >>> Integer.numberOfLeadingZeros(mask);
+    }
+
+    /**
+     * Raddoppia la tabella e vi reinserisce le parole note.
+     */
+    private void grow() {
+        String[] oldWords = words;
+        int[] oldHashes = hashes;
+        boolean[] oldStop = stop;
+
+        words = new String[oldWords.length * 2];
+        hashes = new int[words.length];
+        stop = new boolean[words.length];
+        mask = words.length - 1;
+        for (int j = 0; j < oldWords.length; j++) {
+            if (oldWords[j] != null) {
+                int i = slot(oldHashes[j]);
+                while (words[i] != null) {
+                    i = (i + 1) & mask;
+                }
+                words[i] = oldWords[j];
+                hashes[i] = oldHashes[j];
+                stop[i] = oldStop[j];
+            }
+        }
+    }
+
+    private static boolean matches(String word, char[] chars, int offset, int length) {
+        if (word.length() != length) {
+            return false;
+        }
+        for (int j = 0; j < length; j++) {
+            if (word.charAt(j) != chars[offset + j]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Stessi separatori della classe \s delle espressioni regolari.
+     */
+    private static boolean isSpace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+}
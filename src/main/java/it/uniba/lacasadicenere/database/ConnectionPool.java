@@ -0,0 +1,180 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+
+package it.uniba.lacasadicenere.database;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool di connessioni JDBC riutilizzabili.
+ * Mantiene un numero limitato di connessioni aperte e le presta ai chiamanti,
+ * evitando di aprire una nuova connessione per ogni query.
+ */
+public class ConnectionPool implements AutoCloseable {
+
+    /**
+     * Parametri di connessione al database.
+     */
+    private final String url;
+    private final String user;
+    private final String password;
+
+    /**
+     * Numero massimo di connessioni aperte contemporaneamente.
+     */
+    private final int maxSize;
+
+    /**
+     * Tempo massimo di attesa per ottenere una connessione, in millisecondi.
+     */
+    private final long timeoutMillis;
+
+    /**
+     * Connessioni aperte e attualmente libere.
+     */
+    private final BlockingQueue<PooledConnection> idle;
+
+    /**
+     * Numero di connessioni fisiche create e non ancora chiuse.
+     */
+    private final AtomicInteger created = new AtomicInteger();
+
+    private volatile boolean closed = false;
+
+    /**
+     * Costruttore del pool.
+     * @param url URL JDBC del database
+     * @param user utente
+     * @param password password
+     * @param maxSize numero massimo di connessioni
+     * @param timeoutMillis tempo massimo di attesa per una connessione
+     */
+    public ConnectionPool(String url, String user, String password, int maxSize, long timeoutMillis) {
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.maxSize = maxSize;
+        this.timeoutMillis = timeoutMillis;
+        this.idle = new ArrayBlockingQueue<>(maxSize);
+    }
+
+    /**
+     * Apre in anticipo alcune connessioni, così i primi chiamanti non pagano la latenza di apertura.
+     * @param count numero di connessioni da aprire
+     * @throws SQLException Se l'apertura di una connessione fallisce
+     */
+    public void warmUp(int count) throws SQLException {
+        for (int i = 0; i < count; i++) {
+            PooledConnection pc = tryCreate();
+            if (pc == null) {
+                return;
+            }
+            idle.offer(pc);
+        }
+    }
+
+    /**
+     * Prende in prestito una connessione dal pool.
+     * La connessione va restituita chiamando {@link PooledConnection#close()}.
+     *
+     * @return la connessione in prestito
+     * @throws SQLException Se il pool è chiuso o nessuna connessione si libera entro il timeout
+     */
+    public PooledConnection acquire() throws SQLException {
+        if (closed) {
+            throw new SQLException("Il pool di connessioni è chiuso.");
+        }
+
+        PooledConnection pc = idle.poll();
+        if (pc == null) {
+            pc = tryCreate();
+        }
+        if (pc == null) {
+            try {
+                pc = idle.poll(timeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Attesa di una connessione interrotta.", e);
+            }
+        }
+        if (pc == null) {
+            throw new SQLException("Nessuna connessione disponibile entro " + timeoutMillis + " ms.");
+        }
+
+        if (!pc.isUsable()) {
+            discard(pc);
+            pc = tryCreate();
+            if (pc == null) {
+                throw new SQLException("Impossibile riaprire una connessione al database.");
+            }
+        }
+
+        pc.markBorrowed();
+        return pc;
+    }
+
+    /**
+     * Restituisce una connessione al pool.
+     * @param pc la connessione da restituire
+     */
+    void release(PooledConnection pc) {
+        if (closed || !pc.isUsable() || !idle.offer(pc)) {
+            discard(pc);
+        }
+    }
+
+    /**
+     * Apre una nuova connessione fisica se il limite non è stato raggiunto.
+     * @return la nuova connessione, o null se il pool è pieno
+     * @throws SQLException Se l'apertura fallisce
+     */
+    private PooledConnection tryCreate() throws SQLException {
+        while (true) {
+            int current = created.get();
+            if (current >= maxSize) {
+                return null;
+            }
+            if (created.compareAndSet(current, current + 1)) {
+                break;
+            }
+        }
+
+        try {
+            Connection conn = DriverManager.getConnection(url, user, password);
+            return new PooledConnection(this, conn);
+        } catch (SQLException e) {
+            created.decrementAndGet();
+            throw e;
+        }
+    }
+
+    /**
+     * Chiude definitivamente una connessione e libera il suo posto nel pool.
+     * @param pc la connessione da scartare
+     */
+    private void discard(PooledConnection pc) {
+        created.decrementAndGet();
+        pc.closePhysical();
+    }
+
+    /**
+     * Chiude il pool e tutte le connessioni libere.
+     * Le connessioni ancora in prestito vengono chiuse alla restituzione.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        PooledConnection pc;
+        while ((pc = idle.poll()) != null) {
+            discard(pc);
+        }
+    }
+}
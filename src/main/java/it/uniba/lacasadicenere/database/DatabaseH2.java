@@ -5,17 +5,13 @@
 
 package it.uniba.lacasadicenere.database;
 
-import java.sql.Connection;
-import java.sql.DriverManager;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.sql.SQLException;
 
 import it.uniba.lacasadicenere.service.OutputService;
 
 /**
  * Classe per la gestione della connessione al database H2.
- * Gestisce la connessione, l'inizializzazione e le query al database.
+ * Gestisce il pool di connessioni, l'inizializzazione e le query al database.
  */
 public class DatabaseH2 {
     
@@ -36,68 +32,74 @@ public class DatabaseH2 {
     private static final String PASS = "";
     
     /**
-     * Stabilisce una connessione al database H2 e inizializza le tabelle se necessario.
+     * Dimensione massima del pool e numero di connessioni aperte in anticipo.
+     * Il database si usa solo all'avvio, per lo schema e il caricamento delle descrizioni,
+     * sempre da un thread alla volta: basta una connessione.
+     */
+    private static final int POOL_SIZE = 1;
+    private static final int POOL_WARM = 1;
+
+    /**
+     * Tempo massimo di attesa per una connessione del pool, in millisecondi.
+     */
+    private static final long POOL_TIMEOUT = 5000;
+
+    /**
+     * Pool di connessioni condiviso.
+     */
+    private static ConnectionPool pool;
+
+    /**
+     * Restituisce il pool di connessioni, creandolo e inizializzando lo schema al primo accesso.
      * 
-     * @return La connessione al database
+     * @return Il pool di connessioni al database
      * @throws RuntimeException Se si verifica un errore durante la connessione
      */
-    public static Connection connect() {
-        PreparedStatement stmt = null;
-        ResultSet rs = null;
-        String start = "RUNSCRIPT FROM 'src/main/resources/database/db_start.sql'";
-        String fill = "RUNSCRIPT FROM 'src/main/resources/database/db_info.sql'";
+    public static synchronized ConnectionPool getPool() {
+        if (pool != null) {
+            return pool;
+        }
 
-        boolean emptyDescr = true;
         try {
             Class.forName(JDBC_DRIVER);
         } catch (ClassNotFoundException e) {
             throw new RuntimeException(e);
         }
 
+        ConnectionPool created = new ConnectionPool(DB_URL, USER, PASS, POOL_SIZE, POOL_TIMEOUT);
         try {
-            Connection conn = DriverManager.getConnection(DB_URL, USER, PASS);
-            stmt = conn.prepareStatement(start);
-            stmt.execute();
-            stmt.close();
-
-            String checkQuery = "SELECT * FROM DESCRIZIONE";
-            stmt = conn.prepareStatement(checkQuery);
-            rs = stmt.executeQuery();
-            while(rs.next()) {
-                emptyDescr = false;
-            }
-            rs.close();
-            
-            if(emptyDescr) {
-                stmt = conn.prepareStatement(fill);
-                stmt.execute();
-                stmt.close();
+            created.warmUp(POOL_WARM);
+            try (PooledConnection conn = created.acquire()) {
+                SchemaBootstrap.run(conn.getConnection());
             }
-            
-            return conn;
-
         } catch (SQLException e) {
+            created.close();
             throw new RuntimeException(e);
-        } 
+        }
+
+        Runtime.getRuntime().addShutdownHook(new Thread(created::close));
+        pool = created;
+        return pool;
     }
 
     /**
-     * Chiude la connessione al database.
+     * Prende in prestito una connessione dal pool.
+     * La connessione va restituita chiamandone il metodo close (anche tramite try-with-resources).
      * 
-     * @param conn La connessione da chiudere
+     * @return La connessione al database
+     * @throws RuntimeException Se nessuna connessione è disponibile
      */
-    public static void close(Connection conn) {
-        if (conn != null) {
-            try {
-                conn.close();
-            } catch (SQLException e) {
-                throw new RuntimeException(e);
-            }
+    public static PooledConnection connect() {
+        try {
+            return getPool().acquire();
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
         }
     }
 
     /**
-     * Stampa la descrizione dal database in base ai parametri forniti.
+     * Stampa la descrizione in base ai parametri forniti.
+     * La ricerca avviene sulle descrizioni già caricate in memoria dal DescriptionRepository.
      * @param comando
      * @param stanza
      * @param stato
@@ -105,28 +107,12 @@ public class DatabaseH2 {
      * @param oggetto2
      */
     public static void printFromDB(String comando, String stanza, String stato, String oggetto1, String oggetto2) {
-        String query = "SELECT DESCRIZIONE FROM DESCRIZIONE WHERE COMANDO = ? AND STANZA = ? AND STATO = ? AND OGGETTO1 = ? AND OGGETTO2 = ?";
-
-        try (Connection conn = connect();
-                PreparedStatement stmt = conn.prepareStatement(query)) {
-            stmt.setString(1, comando.trim());
-            stmt.setString(2, stanza.trim());
-            stmt.setString(3, stato.trim());
-            stmt.setString(4, oggetto1.trim());
-            stmt.setString(5, oggetto2.trim());
-
-            ResultSet rs = stmt.executeQuery();
+        String desc = DescriptionRepository.getInstance().find(comando, stanza, stato, oggetto1, oggetto2);
 
-            if(rs.next()) {
-                String desc = rs.getString("DESCRIZIONE");
-                OutputService.displayText(desc);
-            } else {
-                OutputService.displayText("Nessuna descrizione per i parametri forniti.");
-            }
-            rs.close();
-        } catch (SQLException e) {
-            throw new RuntimeException(e);
+        if(desc != null) {
+            OutputService.displayText(desc);
+        } else {
+            OutputService.displayText("Nessuna descrizione per i parametri forniti.");
         }
     }
 }
- 
\ No newline at end of file
@@ -0,0 +1,103 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+
+package it.uniba.lacasadicenere.database;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Repository delle descrizioni di gioco.
+ * Legge la tabella DESCRIZIONE una sola volta all'avvio e la mantiene in memoria
+ * in una mappa immutabile, così la gestione dei comandi non accede mai al database.
+ */
+public class DescriptionRepository {
+
+    /**
+     * Istanza singleton del repository.
+     */
+    private static DescriptionRepository instance;
+
+    /**
+     * Query per il caricamento dell'intera tabella delle descrizioni.
+     */
+    private static final String LOAD_QUERY = "SELECT COMANDO, STANZA, STATO, OGGETTO1, OGGETTO2, DESCRIZIONE FROM DESCRIZIONE";
+
+    /**
+     * Descrizioni indicizzate per (COMANDO, STANZA, STATO, OGGETTO1, OGGETTO2).
+     */
+    private final Map<DescriptionKey, String> descriptions;
+
+    /**
+     * Chiave composta di una descrizione.
+     */
+    private record DescriptionKey(String comando, String stanza, String stato, String oggetto1, String oggetto2) { }
+
+    private DescriptionRepository(Map<DescriptionKey, String> descriptions) {
+        this.descriptions = Map.copyOf(descriptions);
+    }
+
+    /**
+     * Restituisce l'istanza del repository, caricando le descrizioni al primo accesso.
+     * @return istanza di DescriptionRepository
+     */
+    public static synchronized DescriptionRepository getInstance() {
+        if (instance == null) {
+            instance = load();
+        }
+        return instance;
+    }
+
+    /**
+     * Carica tutte le descrizioni dal database H2.
+     * @return il repository popolato
+     * @throws RuntimeException Se si verifica un errore durante la lettura
+     */
+    private static DescriptionRepository load() {
+        Map<DescriptionKey, String> loaded = new HashMap<>();
+
+        try (PooledConnection conn = DatabaseH2.connect();
+                PreparedStatement stmt = conn.getConnection().prepareStatement(LOAD_QUERY);
+                ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                DescriptionKey key = new DescriptionKey(
+                        rs.getString("COMANDO").trim(),
+                        rs.getString("STANZA").trim(),
+                        rs.getString("STATO").trim(),
+                        rs.getString("OGGETTO1").trim(),
+                        rs.getString("OGGETTO2").trim());
+                loaded.putIfAbsent(key, rs.getString("DESCRIZIONE"));
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+        return new DescriptionRepository(loaded);
+    }
+
+    /**
+     * Cerca la descrizione corrispondente ai parametri forniti.
+     * @param comando
+     * @param stanza
+     * @param stato
+     * @param oggetto1
+     * @param oggetto2
+     * @return la descrizione trovata, o null se non esiste
+     */
+    public String find(String comando, String stanza, String stato, String oggetto1, String oggetto2) {
+        return descriptions.get(new DescriptionKey(comando.trim(), stanza.trim(), stato.trim(),
+                oggetto1.trim(), oggetto2.trim()));
+    }
+
+    /**
+     * Restituisce il numero di descrizioni caricate.
+     * @return numero di descrizioni
+     */
+    public int size() {
+        return descriptions.size();
+    }
+}
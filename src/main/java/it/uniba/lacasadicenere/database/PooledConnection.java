@@ -0,0 +1,92 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+
+package it.uniba.lacasadicenere.database;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Connessione prestata da un ConnectionPool.
+ * La chiusura restituisce la connessione al pool invece di chiuderla.
+ */
+public class PooledConnection implements AutoCloseable {
+
+    /**
+     * Pool di appartenenza.
+     */
+    private final ConnectionPool pool;
+
+    /**
+     * Connessione fisica al database.
+     */
+    private final Connection connection;
+
+    /**
+     * Indica se la connessione è attualmente in prestito.
+     */
+    private boolean borrowed = false;
+
+    /**
+     * Costruttore della connessione del pool.
+     * @param pool pool di appartenenza
+     * @param connection connessione fisica
+     */
+    PooledConnection(ConnectionPool pool, Connection connection) {
+        this.pool = pool;
+        this.connection = connection;
+    }
+
+    /**
+     * Restituisce la connessione fisica.
+     * Non va chiusa direttamente: usare {@link #close()}.
+     * @return connessione JDBC
+     */
+    public Connection getConnection() {
+        return connection;
+    }
+
+    /**
+     * Segna la connessione come prestata.
+     */
+    void markBorrowed() {
+        borrowed = true;
+    }
+
+    /**
+     * Verifica se la connessione fisica è ancora utilizzabile.
+     * @return true se la connessione è aperta
+     */
+    boolean isUsable() {
+        try {
+            return !connection.isClosed();
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Chiude la connessione fisica.
+     */
+    void closePhysical() {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Restituisce la connessione al pool.
+     */
+    @Override
+    public void close() {
+        if (!borrowed) {
+            return;
+        }
+        borrowed = false;
+        pool.release(this);
+    }
+}
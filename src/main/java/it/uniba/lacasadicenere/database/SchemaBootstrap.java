@@ -0,0 +1,150 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+
+package it.uniba.lacasadicenere.database;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+
+/**
+ * Classe per l'inizializzazione dello schema del database.
+ * Registra l'impronta SHA-256 degli script SQL in una tabella di metadati
+ * ed esegue di nuovo uno script solo quando il suo contenuto cambia.
+ */
+public class SchemaBootstrap {
+
+    /**
+     * Percorsi degli script SQL.
+     */
+    private static final String START_SCRIPT = "src/main/resources/database/db_start.sql";
+    private static final String INFO_SCRIPT = "src/main/resources/database/db_info.sql";
+
+    /**
+     * Nomi con cui gli script vengono registrati nella tabella dei metadati.
+     */
+    private static final String START_NAME = "db_start.sql";
+    private static final String INFO_NAME = "db_info.sql";
+
+    /**
+     * Query sulla tabella dei metadati.
+     */
+    private static final String CREATE_META = "CREATE TABLE IF NOT EXISTS SCHEMA_SCRIPT ("
+            + "NOME VARCHAR(255) PRIMARY KEY, CHECKSUM VARCHAR(64) NOT NULL, APPLICATO TIMESTAMP)";
+    private static final String SELECT_META = "SELECT NOME, CHECKSUM FROM SCHEMA_SCRIPT";
+    private static final String MERGE_META = "MERGE INTO SCHEMA_SCRIPT (NOME, CHECKSUM, APPLICATO) KEY (NOME) "
+            + "VALUES (?, ?, CURRENT_TIMESTAMP)";
+
+    private SchemaBootstrap() { }
+
+    /**
+     * Porta il database allo stato descritto dagli script.
+     * Se le impronte registrate coincidono con quelle degli script, nessuno script viene eseguito.
+     *
+     * @param conn La connessione su cui operare
+     * @throws SQLException Se l'esecuzione degli script fallisce
+     */
+    public static void run(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute(CREATE_META);
+        }
+        Map<String, String> applied = readChecksums(conn);
+
+        String startChecksum = checksum(START_SCRIPT);
+        if (!startChecksum.equals(applied.get(START_NAME))) {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("RUNSCRIPT FROM '" + START_SCRIPT + "'");
+            }
+            recordChecksum(conn, START_NAME, startChecksum);
+        }
+
+        String infoChecksum = checksum(INFO_SCRIPT);
+        if (!infoChecksum.equals(applied.get(INFO_NAME))) {
+            reseed(conn, infoChecksum);
+        }
+    }
+
+    /**
+     * Svuota la tabella DESCRIZIONE e la ripopola con lo script delle descrizioni,
+     * registrandone la nuova impronta nella stessa transazione.
+     *
+     * @param conn La connessione su cui operare
+     * @param infoChecksum Impronta dello script delle descrizioni
+     * @throws SQLException Se l'esecuzione dello script fallisce
+     */
+    private static void reseed(Connection conn, String infoChecksum) throws SQLException {
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try (Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("DELETE FROM DESCRIZIONE");
+            stmt.execute("RUNSCRIPT FROM '" + INFO_SCRIPT + "'");
+            recordChecksum(conn, INFO_NAME, infoChecksum);
+            conn.commit();
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+    }
+
+    /**
+     * Legge le impronte degli script già applicati.
+     * @param conn La connessione su cui operare
+     * @return mappa nome script -> impronta
+     * @throws SQLException Se la lettura fallisce
+     */
+    private static Map<String, String> readChecksums(Connection conn) throws SQLException {
+        Map<String, String> applied = new HashMap<>();
+        try (Statement stmt = conn.createStatement();
+                ResultSet rs = stmt.executeQuery(SELECT_META)) {
+            while (rs.next()) {
+                applied.put(rs.getString("NOME"), rs.getString("CHECKSUM"));
+            }
+        }
+        return applied;
+    }
+
+    /**
+     * Registra l'impronta di uno script applicato.
+     * @param conn La connessione su cui operare
+     * @param name Nome dello script
+     * @param checksum Impronta dello script
+     * @throws SQLException Se la scrittura fallisce
+     */
+    private static void recordChecksum(Connection conn, String name, String checksum) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(MERGE_META)) {
+            stmt.setString(1, name);
+            stmt.setString(2, checksum);
+            stmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Calcola l'impronta SHA-256 del contenuto di uno script.
+     * @param path Percorso dello script
+     * @return impronta in esadecimale
+     * @throws RuntimeException Se lo script non può essere letto
+     */
+    private static String checksum(String path) {
+        try {
+            byte[] content = Files.readAllBytes(Paths.get(path));
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(content));
+        } catch (IOException | NoSuchAlgorithmException e) {
+            throw new RuntimeException("Impossibile leggere lo script " + path, e);
+        }
+    }
+}
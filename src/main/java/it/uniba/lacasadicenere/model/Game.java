@@ -5,11 +5,15 @@
 
 package it.uniba.lacasadicenere.model;
 
-import it.uniba.lacasadicenere.view.GamePanel;
+import it.uniba.lacasadicenere.service.GameEvents;
+import it.uniba.lacasadicenere.service.GameSession;
 import it.uniba.lacasadicenere.service.OutputService;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Classe che rappresenta il gioco
@@ -32,9 +36,9 @@ public class Game {
     private List<RoomConnection> corridorMap;
     
     /**
-     * Istanza statica e privata della classe Game stessa
+     * Indice degli oggetti presenti nel gioco, escluso dal salvataggio
      */
-    private static Game game = new Game();
+    private transient ItemIndex itemIndex = new ItemIndex();
     
     /**
      * Costruttore del gioco
@@ -45,19 +49,19 @@ public class Game {
     }
     
     /**
-     * Imposta l'istanza Singleton
+     * Imposta la partita della sessione corrente
      * @param game 
      */
     public static void setUpGame(Game game) {
-        Game.game = game;
+        GameSession.current().setGame(game);
     }
     
     /**
-     * Metodo di accesso all'unica instanza di Game
+     * Metodo di accesso alla partita della sessione corrente
      * @return game
      */
     public static Game getInstance() {
-        return game;
+        return GameSession.current().getGame();
     }
 
     /**
@@ -73,10 +77,9 @@ public class Game {
      * @param item 
      */
     public void addInventory(Item item) {
-        game.inventory.add(item);
-        List<String> itemsNames = game.inventory.stream().map(Item::getName).toList();
-        String[] itemsNamesArray = itemsNames.toArray(new String[0]);
-        GamePanel.updateInventoryTextArea(itemsNamesArray);
+        this.inventory.add(item);
+        this.itemIndex.add(item);
+        GameEvents.inventoryChanged(this.inventory.stream().map(Item::getName).toList());
     }
 
     /** 
@@ -84,10 +87,61 @@ public class Game {
      * @param item 
      */
     public void removeInventory(Item item) {
-        game.inventory.remove(item);
-        List<String> itemsNames = game.inventory.stream().map(Item::getName).toList();
-        String[] itemsNamesArray = itemsNames.toArray(new String[0]);
-        GamePanel.updateInventoryTextArea(itemsNamesArray);
+        if (this.inventory.remove(item)) {
+            this.itemIndex.remove(item);
+        }
+        GameEvents.inventoryChanged(this.inventory.stream().map(Item::getName).toList());
+    }
+
+    /**
+     * Aggiunge uno o più oggetti a una stanza, aggiornando l'indice degli oggetti
+     * @param room
+     * @param items 
+     */
+    public void addItemsToRoom(Room room, Item... items) {
+        room.addItems(items);
+        for (Item item : items) {
+            this.itemIndex.add(item);
+        }
+    }
+
+    /**
+     * Rimuove da una stanza gli oggetti con il nome indicato, aggiornando l'indice degli oggetti
+     * @param room
+     * @param name 
+     */
+    public void removeItemFromRoom(Room room, String name) {
+        for (Item item : room.getItems()) {
+            if (item.getName().equals(name)) {
+                this.itemIndex.remove(item);
+            }
+        }
+        room.removeItem(name);
+    }
+
+    /**
+     * Toglie un oggetto da un contenitore, aggiornando l'indice degli oggetti
+     * @param container
+     * @param item 
+     */
+    public void removeFromContainer(ItemContainer container, Item item) {
+        if (container.getList().contains(item)) {
+            if (this.itemIndex.contains(container)) {
+                this.itemIndex.remove(item);
+            }
+            container.remove(item);
+        }
+    }
+
+    /**
+     * Svuota un contenitore, aggiornando l'indice degli oggetti
+     * @param container 
+     */
+    public void emptyContainer(ItemContainer container) {
+        if (this.itemIndex.contains(container)) {
+            container.getList().forEach(this.itemIndex::remove);
+        }
+        container.getList().clear();
     }
 
     /**
@@ -95,7 +149,7 @@ public class Game {
      */
     public void printInventory() {
         OutputService.displayText("Inventario: ");
-        for (Item item : game.inventory) {
+        for (Item item : this.inventory) {
             OutputService.displayText("- " + item.getName());
         }
     }
@@ -105,7 +159,7 @@ public class Game {
      * @return currentRoom
      */
     public Room getCurrentRoom() {
-        return game.currentRoom;
+        return this.currentRoom;
     }
 
     /**
@@ -113,17 +167,17 @@ public class Game {
      * @param room 
      */
     public void setCurrentRoom(Room room) {
-        if (game.corridorMap != null) {
-            for (RoomConnection corridor : game.corridorMap) {
+        if (this.corridorMap != null) {
+            for (RoomConnection corridor : this.corridorMap) {
                 if (corridor.getStartingRoom().equals(room)) {
-                    game.currentRoom = corridor.getStartingRoom();
-                    GamePanel.setImagePanel(game.currentRoom.getName());
+                    this.currentRoom = corridor.getStartingRoom();
+                    GameEvents.roomChanged(this.currentRoom.getName());
                     return;
                 }
             }
         }
-        game.currentRoom = room;
-        GamePanel.setImagePanel(game.currentRoom.getName());
+        this.currentRoom = room;
+        GameEvents.roomChanged(this.currentRoom.getName());
     }
     
     /**
@@ -131,7 +185,7 @@ public class Game {
      * @return corridorMap
      */
     public List<RoomConnection> getCorridorMap() {
-        return game.corridorMap;
+        return this.corridorMap;
     }
 
     /**
@@ -139,7 +193,41 @@ public class Game {
      * @param corridorsMap 
      */
     public void setCorridorMap(List<RoomConnection> corridorsMap) {
-        game.corridorMap = corridorsMap;
+        this.corridorMap = corridorsMap;
+    }
+
+    /**
+     * Restituisce l'indice degli oggetti presenti nel gioco
+     * @return itemIndex
+     */
+    public ItemIndex getItemIndex() {
+        return this.itemIndex;
+    }
+
+    /**
+     * Ricostruisce l'indice degli oggetti a partire dalle stanze e dall'inventario.
+     * Da chiamare dopo aver creato o caricato una partita.
+     */
+    public void rebuildItemIndex() {
+        this.itemIndex.clear();
+        
+        Set<Room> rooms = Collections.newSetFromMap(new IdentityHashMap<>());
+        if (this.corridorMap != null) {
+            for (RoomConnection corridor : this.corridorMap) {
+                rooms.add(corridor.getStartingRoom());
+                rooms.add(corridor.getArrivingRoom());
+            }
+        }
+        rooms.add(this.currentRoom);
+        
+        for (Room room : rooms) {
+            if (room != null && room.getItems() != null) {
+                room.getItems().forEach(this.itemIndex::add);
+            }
+        }
+        if (this.inventory != null) {
+            this.inventory.forEach(this.itemIndex::add);
+        }
     }
 
     /**
@@ -148,7 +236,7 @@ public class Game {
      * @param r2 arrivingRoom
      */
     public void unlockCorridor(String r1, String r2) {
-        for (RoomConnection corridor : game.corridorMap) {
+        for (RoomConnection corridor : this.corridorMap) {
             if (corridor.getStartingRoom().getName().equals(r1) && corridor.getArrivingRoom().getName().equals(r2)) {
                 corridor.setLocked(false);
             }
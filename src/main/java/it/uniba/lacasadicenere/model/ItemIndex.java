@@ -0,0 +1,379 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+
+package it.uniba.lacasadicenere.model;
+
+import it.uniba.lacasadicenere.util.FuzzyIndex;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Indice degli oggetti presenti nel gioco, per nome e alias in minuscolo.
+ * Viene aggiornato in modo incrementale quando gli oggetti entrano o escono
+ * da stanze, inventario e contenitori tramite Game, così la ricerca di un oggetto non
+ * richiede di visitare tutte le stanze.
+ *
+ * Nomi e alias sono memorizzati in un trie di parole: ogni nodo corrisponde a una
+ * parola, e un cammino dalla radice a un nome di più parole (es. "chiave di ferro").
+ * Questo permette di riconoscere gli oggetti in una frase con una sola scansione
+ * da sinistra a destra, scegliendo ogni volta il nome più lungo.
+ * Le parole dei nomi sono raccolte anche in un FuzzyIndex, così una parola scritta
+ * con un errore di battitura può essere ricondotta alla parola corretta.
+ * Il FuzzyIndex è condiviso da tutti gli indici (cioè da tutte le partite della JVM):
+ * le parole dei nomi sono le stesse in ogni partita, e la correzione considera solo
+ * le parole presenti nel trie di questa partita.
+ */
+public class ItemIndex {
+
+    /**
+     * Nodo del trie: i figli per parola successiva e gli oggetti il cui nome
+     * o alias termina in questo nodo. Come filtro accetta le parole dei figli,
+     * così la correzione di una parola non crea oggetti.
+     */
+    private static final class Node implements Predicate<String> {
+        private final Map<String, Node> children = new HashMap<>(4);
+        private final List<Item> named = new ArrayList<>(1);
+        private final List<Item> aliased = new ArrayList<>(1);
+
+        @Override
+        public boolean test(String word) {
+            return children.containsKey(word);
+        }
+
+        private boolean isEmpty() {
+            return children.isEmpty() && named.isEmpty() && aliased.isEmpty();
+        }
+
+        /**
+         * Oggetto associato al nodo; i nomi hanno la precedenza sugli alias.
+         */
+        private Item item() {
+            if (!named.isEmpty()) {
+                return named.get(0);
+            }
+            return aliased.isEmpty() ? null : aliased.get(0);
+        }
+    }
+
+    /**
+     * Numero di posizioni (stanze, inventario, contenitori) in cui si trova ogni oggetto.
+     */
+    private final Map<Item, Integer> counts = new IdentityHashMap<>();
+
+    /**
+     * Radice del trie di nomi e alias.
+     */
+    private Node root = new Node();
+
+    /**
+     * Parole ignorate nei nomi, le stesse che il Parser scarta dall'input.
+     */
+    private Set<String> stopwords = Set.of();
+
+    /**
+     * Parole dei nomi e alias di tutti gli indici, per la correzione degli errori di battitura.
+     * Non viene mai modificato dopo la pubblicazione: una parola nuova produce una copia,
+     * quindi può essere letto da più partite senza sincronizzazione. Le parole non vengono
+     * mai rimosse; sono al più quelle dei nomi degli oggetti del gioco.
+     */
+    private static volatile FuzzyIndex<String> vocabulary = new FuzzyIndex<>();
+
+    /**
+     * Registra un oggetto in una nuova posizione.
+     * Alla prima registrazione vengono indicizzati anche gli oggetti contenuti.
+     * @param item
+     */
+    public void add(Item item) {
+        if (item == null) {
+            return;
+        }
+        int count = counts.merge(item, 1, Integer::sum);
+        if (count > 1) {
+            return;
+        }
+
+        register(item);
+
+        if (item instanceof ItemContainer) {
+            ItemContainer container = (ItemContainer) item;
+            if (container.getList() != null) {
+                for (Item contained : container.getList()) {
+                    add(contained);
+                }
+            }
+        }
+    }
+
+    /**
+     * Rimuove un oggetto da una delle sue posizioni.
+     * Quando l'oggetto non si trova più in nessuna posizione esce dall'indice,
+     * insieme agli oggetti che contiene.
+     * @param item
+     */
+    public void remove(Item item) {
+        if (item == null) {
+            return;
+        }
+        Integer count = counts.get(item);
+        if (count == null) {
+            return;
+        }
+        if (count > 1) {
+            counts.put(item, count - 1);
+            return;
+        }
+        counts.remove(item);
+
+        unregister(item);
+
+        if (item instanceof ItemContainer) {
+            ItemContainer container = (ItemContainer) item;
+            if (container.getList() != null) {
+                for (Item contained : container.getList()) {
+                    remove(contained);
+                }
+            }
+        }
+    }
+
+    /**
+     * Verifica se un oggetto è presente nell'indice.
+     * @param item
+     * @return true se l'oggetto è indicizzato
+     */
+    public boolean contains(Item item) {
+        return counts.containsKey(item);
+    }
+
+    /**
+     * Imposta le parole da ignorare nei nomi e reindicizza gli oggetti già presenti.
+     * @param stopwords parole in minuscolo
+     */
+    public void setStopwords(Set<String> stopwords) {
+        this.stopwords = Set.copyOf(stopwords);
+        root = new Node();
+        for (Item item : counts.keySet()) {
+            register(item);
+        }
+    }
+
+    /**
+     * Cerca un oggetto per nome o alias. I nomi hanno la precedenza sugli alias.
+     * @param name nome o alias già in minuscolo, anche di più parole
+     * @return l'oggetto trovato, o null se non esiste
+     */
+    public Item find(String name) {
+        if (name == null) {
+            return null;
+        }
+        Node node = root;
+        for (String word : name.split("\\s+")) {
+            if (word.isEmpty() || stopwords.contains(word)) {
+                continue;
+            }
+            node = node.children.get(word);
+            if (node == null) {
+                return null;
+            }
+        }
+        return node == root ? null : node.item();
+    }
+
+    /**
+     * Riconosce gli oggetti nominati in una sequenza di parole con una sola scansione
+     * da sinistra a destra. A ogni posizione viene scelto il nome più lungo presente
+     * nell'indice. La scansione si ferma alla prima parola che non inizia alcun nome:
+     * gli oggetti nominati dopo una parola sconosciuta non vengono riconosciuti,
+     * così "prendi xyz candela" non viene letto come "prendi candela".
+     * Il costo è lineare nel numero di parole (per la lunghezza del nome più lungo).
+     * @param words parole in minuscolo, senza stopwords
+     * @param from indice della prima parola da esaminare
+     * @param to indice successivo all'ultima parola da esaminare
+     * @param found array riempito con gli oggetti trovati, nell'ordine della frase
+     * @return il numero di oggetti trovati, al più found.length
+     */
+    public int segment(String[] words, int from, int to, Item[] found) {
+        return segment(words, from, to, found, 0);
+    }
+
+    /**
+     * Come {@link #segment(String[], int, int, Item[])}, ma una parola che non prosegue
+     * alcun nome viene sostituita dalla parola indicizzata più vicina, entro la distanza indicata.
+     * @param words parole in minuscolo, senza stopwords
+     * @param from indice della prima parola da esaminare
+     * @param to indice successivo all'ultima parola da esaminare
+     * @param found array riempito con gli oggetti trovati, nell'ordine della frase
+     * @param maxDistance distanza di edit massima; 0 disattiva la tolleranza
+     * @return il numero di oggetti trovati, al più found.length
+     */
+    public int segment(String[] words, int from, int to, Item[] found, int maxDistance) {
+        int count = 0;
+        int i = from;
+        while (i < to && count < found.length) {
+            Node node = root;
+            Item best = null;
+            int bestEnd = i;
+            for (int j = i; j < to; j++) {
+                node = next(node, words[j], maxDistance);
+                if (node == null) {
+                    break;
+                }
+                Item item = node.item();
+                if (item != null) {
+                    best = item;
+                    bestEnd = j + 1;
+                }
+            }
+            if (best == null) {
+                break;
+            }
+            found[count++] = best;
+            i = bestEnd;
+        }
+        return count;
+    }
+
+    /**
+     * Segue il figlio corrispondente alla parola, correggendola se necessario.
+     * La correzione considera solo le parole che proseguono un nome dal nodo corrente:
+     * la parola più vicina in assoluto potrebbe non essere tra queste.
+     */
+    private Node next(Node node, String word, int maxDistance) {
+        Node child = node.children.get(word);
+        if (child == null && maxDistance > 0 && !node.children.isEmpty()) {
+            String corrected = vocabulary.find(word, FuzzyIndex.tolerance(word, maxDistance), node);
+            if (corrected != null) {
+                child = node.children.get(corrected);
+            }
+        }
+        return child;
+    }
+
+    /**
+     * Svuota l'indice.
+     */
+    public void clear() {
+        counts.clear();
+        root = new Node();
+    }
+
+    /**
+     * Inserisce nel trie il nome e gli alias di un oggetto.
+     */
+    private void register(Item item) {
+        insert(item.getName(), item, true);
+        if (item.getAliases() != null) {
+            for (String alias : item.getAliases()) {
+                insert(alias, item, false);
+            }
+        }
+    }
+
+    /**
+     * Rimuove dal trie il nome e gli alias di un oggetto.
+     */
+    private void unregister(Item item) {
+        delete(item.getName(), item, true);
+        if (item.getAliases() != null) {
+            for (String alias : item.getAliases()) {
+                delete(alias, item, false);
+            }
+        }
+    }
+
+    private void insert(String key, Item item, boolean name) {
+        List<String> words = words(key);
+        if (words.isEmpty()) {
+            return;
+        }
+        Node node = root;
+        for (String word : words) {
+            node = node.children.computeIfAbsent(word, w -> new Node());
+        }
+        List<Item> items = name ? node.named : node.aliased;
+        for (Item i : items) {
+            if (i == item) {
+                return;
+            }
+        }
+        items.add(item);
+        addToVocabulary(words);
+    }
+
+    /**
+     * Aggiunge al vocabolario condiviso le parole che ancora non contiene,
+     * pubblicando una copia aggiornata. Dopo la prima partita non crea più copie.
+     */
+    private static void addToVocabulary(List<String> words) {
+        if (containsAll(vocabulary, words)) {
+            return;
+        }
+        synchronized (ItemIndex.class) {
+            FuzzyIndex<String> current = vocabulary;
+            if (containsAll(current, words)) {
+                return;
+            }
+            FuzzyIndex<String> copy = current.copy();
+            for (String word : words) {
+                copy.put(word, word);
+            }
+            vocabulary = copy;
+        }
+    }
+
+    private static boolean containsAll(FuzzyIndex<String> index, List<String> words) {
+        for (String word : words) {
+            if (!index.contains(word)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void delete(String key, Item item, boolean name) {
+        List<String> words = words(key);
+        if (words.isEmpty()) {
+            return;
+        }
+        Node[] path = new Node[words.size() + 1];
+        path[0] = root;
+        for (int d = 0; d < words.size(); d++) {
+            path[d + 1] = path[d].children.get(words.get(d));
+            if (path[d + 1] == null) {
+                return;
+            }
+        }
+        Node node = path[words.size()];
+        if (!(name ? node.named : node.aliased).removeIf(i -> i == item)) {
+            return;
+        }
+
+        for (int d = words.size(); d > 0 && path[d].isEmpty(); d--) {
+            path[d - 1].children.remove(words.get(d - 1));
+        }
+    }
+
+    /**
+     * Scompone un nome o alias in parole in minuscolo, scartando le stopwords.
+     */
+    private List<String> words(String key) {
+        List<String> words = new ArrayList<>();
+        if (key == null) {
+            return words;
+        }
+        for (String word : key.toLowerCase().split("\\s+")) {
+            if (!word.isEmpty() && !stopwords.contains(word)) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+}
@@ -4,21 +4,48 @@ import org.glassfish.grizzly.http.server.HttpHandler;
 import org.glassfish.grizzly.http.server.Request;
 import org.glassfish.grizzly.http.server.Response;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * Handler per l'endpoint /api/credits
  * Restituisce una pagina HTML con i crediti del gioco.
+ * La pagina non cambia mentre il server è attivo: viene generata una sola volta,
+ * insieme alla versione compressa con gzip, e servita con ETag e Cache-Control,
+ * così un client che ha già la pagina riceve 304 senza corpo.
  */
 public class CreditsHandler extends HttpHandler {
-    
+
+    /**
+     * Per quanto tempo un client può usare la pagina in cache senza chiedere al server;
+     * scaduto il tempo, la richiesta con If-None-Match riceve 304.
+     */
+    private static final String CACHE_CONTROL = "public, max-age=300";
+
+    private static final byte[] HTML = generateHtml().getBytes(StandardCharsets.UTF_8);
+
+    private static final byte[] GZIPPED_HTML = gzip(HTML);
+
+    private static final String ETAG = etag(HTML);
+
+    /**
+     * ETag della versione compressa: ogni rappresentazione della pagina ha il proprio.
+     */
+    private static final String GZIP_ETAG = ETAG.substring(0, ETAG.length() - 1) + "-gzip\"";
+
     @Override
     public void service(Request request, Response response) throws Exception {
         response.setHeader("Access-Control-Allow-Origin", "*");
         response.setHeader("Access-Control-Allow-Methods", "GET, OPTIONS");
-        response.setHeader("Access-Control-Allow-Headers", "Content-Type");
+        response.setHeader("Access-Control-Allow-Headers", "Content-Type, If-None-Match");
         
         if ("OPTIONS".equalsIgnoreCase(request.getMethod().getMethodString())) {
             response.setStatus(200);
@@ -31,32 +58,129 @@ public class CreditsHandler extends HttpHandler {
         }
         
         try {
-            sendHtmlResponse(response);
+            sendHtmlResponse(request, response);
         } catch (Exception e) {
             e.printStackTrace();
-            sendErrorResponse(response, 500, "Errore interno del server: " + e.getMessage());
+            sendErrorResponse(response, 500, "Errore interno del server.");
         }
     }
     
     /**
-     * Invia la pagina HTML con i crediti.
+     * Invia la pagina HTML con i crediti, compressa se il client accetta gzip,
+     * oppure 304 se il client ha già la pagina.
      */
-    private void sendHtmlResponse(Response response) throws IOException {
+    private void sendHtmlResponse(Request request, Response response) throws IOException {
+        boolean gzip = acceptsGzip(request.getHeader("Accept-Encoding"));
+        String etag = gzip ? GZIP_ETAG : ETAG;
+        response.setHeader("ETag", etag);
+        response.setHeader("Cache-Control", CACHE_CONTROL);
+        response.setHeader("Vary", "Accept-Encoding");
+
+        if (matchesETag(request.getHeader("If-None-Match"), etag)) {
+            response.setStatus(304);
+            return;
+        }
+
+        byte[] body = gzip ? GZIPPED_HTML : HTML;
         response.setStatus(200);
         response.setContentType("text/html; charset=UTF-8");
-        response.setCharacterEncoding("UTF-8");
-        
-        String html = generateHtml();
-        
+        if (gzip) {
+            response.setHeader("Content-Encoding", "gzip");
+        }
+        response.setContentLength(body.length);
+
         OutputStream out = response.getOutputStream();
-        out.write(html.getBytes(StandardCharsets.UTF_8));
+        out.write(body);
         out.flush();
     }
+
+    /**
+     * Indica se il client accetta la codifica gzip, secondo l'intestazione Accept-Encoding.
+     * Una codifica con q=0 è rifiutata; "*" vale per gzip se gzip non è indicato.
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        double gzip = -1;
+        double any = -1;
+        for (String part : acceptEncoding.split(",")) {
+            String[] fields = part.split(";");
+            String coding = fields[0].trim().toLowerCase();
+            double q = 1;
+            for (int i = 1; i < fields.length; i++) {
+                String field = fields[i].trim();
+                if (field.startsWith("q=") || field.startsWith("Q=")) {
+                    try {
+                        q = Double.parseDouble(field.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        q = 0;
+                    }
+                }
+            }
+            if ("gzip".equals(coding) || "x-gzip".equals(coding)) {
+                gzip = q;
+            } else if ("*".equals(coding)) {
+                any = q;
+            }
+        }
+        return gzip >= 0 ? gzip > 0 : any > 0;
+    }
+
+    /**
+     * Indica se l'intestazione If-None-Match contiene l'ETag della rappresentazione scelta.
+     * L'ETag dell'altra codifica non vale: il client non ha la rappresentazione che riceverebbe.
+     * Il confronto è debole, come previsto per If-None-Match: il prefisso W/ viene ignorato.
+     */
+    static boolean matchesETag(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String tag : ifNoneMatch.split(",")) {
+            tag = tag.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if ("*".equals(tag) || etag.equals(tag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Comprime la pagina con gzip al livello massimo: la compressione avviene una sola volta.
+     */
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(data.length);
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            out.write(data);
+        } catch (IOException e) {
+            throw new RuntimeException("Errore nella compressione della pagina crediti", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Calcola l'ETag dal contenuto della pagina, così cambia solo se cambia la pagina.
+     */
+    private static String etag(byte[] data) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(data);
+            return "\"" + HexFormat.of().formatHex(Arrays.copyOf(digest, 16)) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("SHA-256 non disponibile", e);
+        }
+    }
     
     /**
      * Genera l'HTML della pagina crediti.
      */
-    private String generateHtml() {
+    private static String generateHtml() {
         StringBuilder html = new StringBuilder();
         html.append("<!DOCTYPE html>\n");
         html.append("<html>\n");
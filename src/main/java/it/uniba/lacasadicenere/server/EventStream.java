@@ -0,0 +1,265 @@
+package it.uniba.lacasadicenere.server;
+
+import it.uniba.lacasadicenere.service.GameSession;
+import it.uniba.lacasadicenere.type.GameEventListener;
+
+import org.glassfish.grizzly.WriteHandler;
+import org.glassfish.grizzly.http.io.NIOOutputStream;
+import org.glassfish.grizzly.http.server.Response;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Stream di Server-Sent Events di un giocatore collegato a una sessione.
+ * Riceve gli eventi della partita come listener della sessione e li accoda;
+ * la scrittura avviene dal pool condiviso di StreamHandler, senza bloccare:
+ * se il client non riesce a ricevere, lo stream aspetta che Grizzly segnali
+ * di nuovo la possibilità di scrivere. Nessun thread resta occupato dallo stream.
+ *
+ * Eventi inviati: "text" (testo della partita, suddiviso secondo StreamChunking),
+ * "room" (nome della stanza), "inventory" (array JSON degli oggetti) ed "end"
+ * (partita terminata, dopo il quale lo stream si chiude).
+ */
+class EventStream implements GameEventListener {
+
+    /**
+     * Un evento in attesa di essere inviato; il nome null indica un commento di keep-alive.
+     */
+    private record Event(String name, String data) {
+    }
+
+    private static final Event PING = new Event(null, "ping");
+
+    private final GameSession session;
+    private final Response response;
+    private final NIOOutputStream out;
+    private final StreamChunking chunking;
+    private final ScheduledExecutorService scheduler;
+    private final Consumer<EventStream> onClose;
+
+    private final Queue<Event> pending = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Vero quando una scrittura è in programma o in attesa che il client riceva:
+     * garantisce che gli eventi dello stream vengano scritti da un solo task alla volta.
+     */
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    /**
+     * Posizione nel testo del primo evento in coda, già inviata fino a qui.
+     * Usata solo dal task di scrittura.
+     */
+    private int offset;
+
+    /**
+     * Crea lo stream su una risposta già sospesa.
+     * @param session sessione di cui inviare gli eventi
+     * @param response risposta sospesa su cui scrivere
+     * @param chunking suddivisione del testo in eventi
+     * @param scheduler pool condiviso che esegue le scritture
+     * @param onClose azione eseguita una sola volta alla chiusura dello stream
+     */
+    EventStream(GameSession session, Response response, StreamChunking chunking,
+            ScheduledExecutorService scheduler, Consumer<EventStream> onClose) {
+        this.session = session;
+        this.response = response;
+        this.out = response.getNIOOutputStream();
+        this.chunking = chunking;
+        this.scheduler = scheduler;
+        this.onClose = onClose;
+    }
+
+    GameSession getSession() {
+        return session;
+    }
+
+    @Override
+    public void onText(String text) {
+        if (!text.isEmpty()) {
+            enqueue(new Event("text", text));
+        }
+    }
+
+    @Override
+    public void onRoomChanged(String roomName) {
+        enqueue(new Event("room", roomName));
+    }
+
+    @Override
+    public void onInventoryChanged(List<String> items) {
+        enqueue(new Event("inventory", GameHandler.GSON.toJson(items)));
+    }
+
+    @Override
+    public void onGameEnded() {
+        enqueue(new Event("end", ""));
+    }
+
+    /**
+     * Invia un commento di keep-alive, se non ci sono già eventi in coda.
+     * Tiene aperta la connessione attraverso proxy e fa emergere i client scollegati.
+     */
+    void ping() {
+        if (pending.isEmpty()) {
+            enqueue(PING);
+        }
+    }
+
+    private void enqueue(Event event) {
+        if (closed.get()) {
+            return;
+        }
+        pending.add(event);
+        schedule(0);
+    }
+
+    /**
+     * Programma una scrittura, se non ce n'è già una in programma.
+     */
+    private void schedule(long delayMillis) {
+        if (scheduled.compareAndSet(false, true)) {
+            submit(delayMillis);
+        }
+    }
+
+    private void submit(long delayMillis) {
+        try {
+            scheduler.schedule(this::drain, delayMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            close();
+        }
+    }
+
+    /**
+     * Scrive gli eventi in coda. Senza pausa scrive tutto ciò che è in coda in un'unica
+     * scrittura; con una pausa scrive un solo frammento e si riprogramma.
+     */
+    private void drain() {
+        boolean ended = false;
+        long delay = 0;
+        synchronized (this) {
+            if (closed.get()) {
+                return;
+            }
+            if (!out.canWrite()) {
+                waitForClient();
+                return;
+            }
+
+            StringBuilder batch = new StringBuilder();
+            Event event;
+            while ((event = pending.peek()) != null) {
+                if (event.name() == null) {
+                    pending.poll();
+                    batch.append(": ").append(event.data()).append("\n\n");
+                } else if ("text".equals(event.name())) {
+                    int end = chunking.end(event.data(), offset);
+                    appendEvent(batch, "text", event.data().substring(offset, end));
+                    if (end < event.data().length()) {
+                        offset = end;
+                    } else {
+                        pending.poll();
+                        offset = 0;
+                    }
+                    if (chunking.delayMillis() > 0) {
+                        delay = chunking.delayMillis();
+                        break;
+                    }
+                } else {
+                    pending.poll();
+                    appendEvent(batch, event.name(), event.data());
+                    if ("end".equals(event.name())) {
+                        ended = true;
+                        break;
+                    }
+                }
+            }
+
+            try {
+                out.write(batch.toString().getBytes(StandardCharsets.UTF_8));
+                out.flush();
+            } catch (IOException | RuntimeException e) {
+                close();
+                return;
+            }
+        }
+
+        if (ended) {
+            close();
+        } else if (delay > 0 && !pending.isEmpty()) {
+            submit(delay);
+        } else {
+            scheduled.set(false);
+            // un evento arrivato dopo il ciclo ha trovato scheduled ancora vero
+            if (!pending.isEmpty()) {
+                schedule(delay);
+            }
+        }
+    }
+
+    /**
+     * Il client non sta ricevendo: riprende la scrittura quando Grizzly lo segnala.
+     */
+    private void waitForClient() {
+        out.notifyCanWrite(new WriteHandler() {
+            @Override
+            public void onWritePossible() {
+                submit(0);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                close();
+            }
+        });
+    }
+
+    /**
+     * Aggiunge un evento nel formato SSE; ogni riga del testo diventa una riga "data:".
+     */
+    private static void appendEvent(StringBuilder batch, String name, String data) {
+        batch.append("event: ").append(name).append('\n');
+        // \r è un fine riga per il client SSE: va normalizzato per non spezzare l'evento
+        String normalized = data.replace("\r\n", "\n").replace('\r', '\n');
+        int start = 0;
+        int newline;
+        while ((newline = normalized.indexOf('\n', start)) >= 0) {
+            batch.append("data: ").append(normalized, start, newline).append('\n');
+            start = newline + 1;
+        }
+        batch.append("data: ").append(normalized, start, normalized.length()).append("\n\n");
+    }
+
+    /**
+     * Chiude lo stream: smette di ricevere gli eventi della sessione e completa la risposta.
+     * Può essere chiamato più volte e da qualsiasi thread.
+     */
+    void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        session.getListeners().remove(this);
+        pending.clear();
+        onClose.accept(this);
+        synchronized (this) {
+            try {
+                if (response.isSuspended()) {
+                    response.resume();
+                }
+            } catch (RuntimeException e) {
+                // la connessione è già chiusa dal client
+            }
+        }
+    }
+}
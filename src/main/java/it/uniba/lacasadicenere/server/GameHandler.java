@@ -0,0 +1,402 @@
+package it.uniba.lacasadicenere.server;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+
+import it.uniba.lacasadicenere.model.Game;
+import it.uniba.lacasadicenere.model.Item;
+import it.uniba.lacasadicenere.service.GameSession;
+import it.uniba.lacasadicenere.service.GameSessionRegistry;
+import it.uniba.lacasadicenere.service.InputService;
+import it.uniba.lacasadicenere.type.GameEventListener;
+import it.uniba.lacasadicenere.util.GameSerializer;
+
+import org.glassfish.grizzly.ReadHandler;
+import org.glassfish.grizzly.http.io.NIOReader;
+import org.glassfish.grizzly.http.server.HttpHandler;
+import org.glassfish.grizzly.http.server.Request;
+import org.glassfish.grizzly.http.server.Response;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Handler per gli endpoint /api/games, che permettono di giocare una partita via HTTP.
+ * Ogni partita è una GameSession del GameSessionRegistry.
+ *
+ * POST   /api/games                 crea una partita
+ * GET    /api/games/{id}            stato della partita
+ * DELETE /api/games/{id}            chiude la partita
+ * POST   /api/games/{id}/commands   esegue un comando: {"command": "prendi candela"}
+ * GET    /api/games/{id}/inventory  oggetti nell'inventario
+ * POST   /api/games/{id}/save       salva la partita nella sessione
+ * POST   /api/games/{id}/load       carica l'ultimo salvataggio della sessione
+ * GET    /api/games/{id}/stream     testo della partita come Server-Sent Events (vedi StreamHandler)
+ *
+ * Le risposte sono in JSON. Il thread di Grizzly non esegue la partita: la risposta
+ * viene sospesa, il corpo della richiesta letto senza bloccare e il comando eseguito
+ * da un pool di thread dedicato, che poi completa e riprende la risposta.
+ */
+public class GameHandler extends HttpHandler {
+
+    private static final String PREFIX = "/api/games";
+
+    /**
+     * Dimensione massima del corpo di una richiesta, in caratteri.
+     */
+    private static final int MAX_BODY = 4096;
+
+    static final Gson GSON = new GsonBuilder().disableHtmlEscaping().create();
+
+    /**
+     * Azioni previste su una partita; la stringa vuota indica la partita stessa.
+     */
+    private static final Set<String> ACTIONS = Set.of("", "commands", "inventory", "save", "load");
+
+    private final ExecutorService executor;
+
+    private final StreamHandler streamHandler;
+
+    /**
+     * Stato di una partita restituito dagli endpoint.
+     * Il testo è quello prodotto dalla richiesta, ed è assente se la richiesta non ne produce.
+     */
+    record GameState(String id, String room, List<String> inventory, boolean ended, String text) {
+    }
+
+    /**
+     * Corpo della richiesta di un comando.
+     */
+    record CommandRequest(String command) {
+    }
+
+    /**
+     * Una richiesta già instradata: metodo, sessione (se presente) e azione.
+     */
+    private record Route(String method, String id, String action) {
+    }
+
+    /**
+     * Eccezione che interrompe una richiesta con il codice HTTP indicato.
+     */
+    private static final class HttpError extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private final int status;
+
+        private HttpError(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+
+    /**
+     * Crea l'handler con un thread di gioco per processore.
+     * @param streamHandler handler a cui passare le richieste /api/games/{id}/stream
+     */
+    public GameHandler(StreamHandler streamHandler) {
+        this.streamHandler = streamHandler;
+        AtomicInteger counter = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), r -> {
+            Thread thread = new Thread(r, "game-worker-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void service(Request request, Response response) throws Exception {
+        String uri = request.getRequestURI();
+        if (uri != null && uri.startsWith(PREFIX + "/") && uri.endsWith(StreamHandler.SUFFIX)) {
+            streamHandler.service(request, response);
+            return;
+        }
+
+        response.setHeader("Access-Control-Allow-Origin", "*");
+        response.setHeader("Access-Control-Allow-Methods", "GET, POST, DELETE, OPTIONS");
+        response.setHeader("Access-Control-Allow-Headers", "Content-Type");
+
+        String method = request.getMethod().getMethodString().toUpperCase();
+        if ("OPTIONS".equals(method)) {
+            response.setStatus(200);
+            return;
+        }
+
+        Route route = route(method, uri);
+        if (route == null) {
+            sendError(response, 404, "Risorsa non trovata.");
+            return;
+        }
+
+        response.suspend();
+        if ("POST".equals(method) && "commands".equals(route.action())) {
+            readBody(request, response, body -> dispatch(route, body, response));
+        } else {
+            dispatch(route, null, response);
+        }
+    }
+
+    /**
+     * Ricava sessione e azione dal percorso della richiesta.
+     * @return la richiesta instradata, o null se il percorso non appartiene agli endpoint
+     */
+    private static Route route(String method, String uri) {
+        if (uri == null || !uri.startsWith(PREFIX)) {
+            return null;
+        }
+        String[] parts = uri.substring(PREFIX.length()).split("/");
+        // parts[0] è vuoto: il percorso inizia con "/" o è vuoto
+        if (parts.length <= 1) {
+            return new Route(method, null, null);
+        }
+        if (parts.length == 2) {
+            return new Route(method, parts[1], null);
+        }
+        if (parts.length == 3) {
+            return new Route(method, parts[1], parts[2]);
+        }
+        return null;
+    }
+
+    /**
+     * Legge il corpo della richiesta senza bloccare il thread di Grizzly:
+     * l'azione viene eseguita quando il corpo è arrivato tutto.
+     */
+    private void readBody(Request request, Response response, Consumer<String> action) throws IOException {
+        request.setCharacterEncoding("UTF-8");
+        NIOReader in = request.getNIOReader();
+        in.notifyAvailable(new ReadHandler() {
+            private final StringBuilder body = new StringBuilder();
+            private final char[] buffer = new char[1024];
+
+            @Override
+            public void onDataAvailable() throws Exception {
+                drain();
+                in.notifyAvailable(this);
+            }
+
+            @Override
+            public void onAllDataRead() throws Exception {
+                drain();
+                in.close();
+                action.accept(body.toString());
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                System.err.println("Errore nella lettura della richiesta: " + t);
+                finish(response, 400, error("Richiesta non valida."));
+            }
+
+            private void drain() throws IOException {
+                while (in.isReady()) {
+                    int read = in.read(buffer);
+                    if (read <= 0) {
+                        break;
+                    }
+                    if (body.length() < MAX_BODY) {
+                        body.append(buffer, 0, Math.min(read, MAX_BODY + 1 - body.length()));
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Esegue la richiesta nel pool di thread di gioco e riprende la risposta.
+     */
+    private void dispatch(Route route, String body, Response response) {
+        try {
+            executor.execute(() -> {
+                try {
+                    Object result = handle(route, body);
+                    finish(response, "POST".equals(route.method()) && route.id() == null ? 201 : 200, result);
+                } catch (HttpError e) {
+                    finish(response, e.status, error(e.getMessage()));
+                } catch (RuntimeException e) {
+                    // il dettaglio resta nel log del server: il client riceve solo un messaggio generico
+                    System.err.println("Errore nella richiesta " + route.method() + " " + PREFIX
+                            + (route.id() != null ? "/" + route.id() : "")
+                            + (route.action() != null ? "/" + route.action() : ""));
+                    e.printStackTrace();
+                    finish(response, 500, error("Errore interno del server."));
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            finish(response, 503, error("Server non disponibile."));
+        }
+    }
+
+    /**
+     * Esegue l'azione richiesta sulla sessione.
+     * @return l'oggetto da restituire in JSON, o null per una risposta vuota
+     */
+    private Object handle(Route route, String body) {
+        String method = route.method();
+
+        if (route.id() == null) {
+            if (!"POST".equals(method)) {
+                throw new HttpError(405, "Metodo non permesso. Usa POST.");
+            }
+            SessionOutput output = new SessionOutput();
+            GameSession session;
+            try {
+                session = GameSessionRegistry.create(output);
+            } catch (GameSessionRegistry.SessionLimitException e) {
+                throw new HttpError(503, "Troppe partite attive. Riprova più tardi.");
+            }
+            return session.call(() -> state(session, output));
+        }
+
+        GameSession session = GameSessionRegistry.get(route.id());
+        if (session == null) {
+            throw new HttpError(404, "Partita non trovata.");
+        }
+        SessionOutput output = output(session);
+
+        String action = route.action() == null ? "" : route.action();
+        switch (method + " " + action) {
+            case "GET ":
+                return session.call(() -> state(session, output));
+            case "DELETE ":
+                GameSessionRegistry.remove(session.getId());
+                return null;
+            case "POST commands":
+                String command = parseCommand(body);
+                return session.call(() -> {
+                    if (output.isEnded()) {
+                        throw new HttpError(409, "La partita è terminata.");
+                    }
+                    InputService.gameFlow(command);
+                    return state(session, output);
+                });
+            case "GET inventory":
+                return session.call(() -> Map.of("inventory", inventory()));
+            case "POST save":
+                return session.call(() -> {
+                    GameSerializer serializer = new GameSerializer();
+                    session.setSave(serializer.gameToJson(), serializer.itemsToJson());
+                    return state(session, output);
+                });
+            case "POST load":
+                return session.call(() -> {
+                    if (session.getSavedGame() == null) {
+                        throw new HttpError(409, "Nessun salvataggio per questa partita.");
+                    }
+                    Map<String, Item> items = new GameSerializer()
+                            .loadGameFromJson(session.getSavedGame(), session.getSavedItems());
+                    session.setItems(items);
+                    output.clearEnded();
+                    InputService.setUpLoadedGameFlow(Game.getInstance());
+                    return state(session, output);
+                });
+            default:
+                if (ACTIONS.contains(action)) {
+                    throw new HttpError(405, "Metodo non permesso: " + method + ".");
+                }
+                throw new HttpError(404, "Risorsa non trovata.");
+        }
+    }
+
+    /**
+     * Legge il comando dal corpo JSON della richiesta.
+     */
+    private static String parseCommand(String body) {
+        if (body == null || body.length() > MAX_BODY) {
+            throw new HttpError(413, "Richiesta troppo grande.");
+        }
+        CommandRequest request;
+        try {
+            request = GSON.fromJson(body, CommandRequest.class);
+        } catch (JsonParseException e) {
+            throw new HttpError(400, "JSON non valido.");
+        }
+        if (request == null || request.command() == null || request.command().isBlank()) {
+            throw new HttpError(400, "Manca il comando. Usa {\"command\": \"...\"}.");
+        }
+        return request.command();
+    }
+
+    /**
+     * Stato della partita corrente, con il testo prodotto dall'ultima risposta.
+     * Da chiamare con la sessione corrente impostata.
+     */
+    private static GameState state(GameSession session, SessionOutput output) {
+        Game game = Game.getInstance();
+        String room = game.getCurrentRoom() != null ? game.getCurrentRoom().getName() : null;
+        String text = output.drainText();
+        return new GameState(session.getId(), room, inventory(), output.isEnded(), text.isEmpty() ? null : text);
+    }
+
+    private static List<String> inventory() {
+        return Game.getInstance().getInventory().stream().map(Item::getName).toList();
+    }
+
+    /**
+     * Restituisce il listener REST della sessione.
+     */
+    private static SessionOutput output(GameSession session) {
+        for (GameEventListener listener : session.getListeners()) {
+            if (listener instanceof SessionOutput) {
+                return (SessionOutput) listener;
+            }
+        }
+        throw new HttpError(404, "Partita non trovata.");
+    }
+
+    private static Map<String, String> error(String message) {
+        return Map.of("error", message);
+    }
+
+    /**
+     * Scrive la risposta JSON e riprende la risposta sospesa.
+     */
+    private static void finish(Response response, int status, Object body) {
+        try {
+            if (body == null) {
+                response.setStatus(204);
+            } else {
+                sendJson(response, status, body);
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        } finally {
+            response.resume();
+        }
+    }
+
+    private static void sendJson(Response response, int status, Object body) throws IOException {
+        byte[] bytes = GSON.toJson(body).getBytes(StandardCharsets.UTF_8);
+        response.setStatus(status);
+        response.setContentType("application/json; charset=UTF-8");
+        response.setContentLength(bytes.length);
+
+        OutputStream out = response.getOutputStream();
+        out.write(bytes);
+        out.flush();
+    }
+
+    /**
+     * Invia un errore senza sospendere la risposta.
+     */
+    static void sendError(Response response, int status, String message) throws IOException {
+        sendJson(response, status, error(message));
+    }
+
+    /**
+     * Ferma il pool di thread di gioco.
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -10,17 +10,36 @@ import java.io.IOException;
  */
 public class RestServer {
     
+    private static final int DEFAULT_PORT = 8080;
+
     private HttpServer server;
+
+    private GameHandler gameHandler;
+
+    private StreamHandler streamHandler;
     
     /**
      * Avvia il server REST sulla porta 8080.
      * @throws IOException
      */
     public void startServer() throws IOException {
-        server = HttpServer.createSimpleServer("/", 8080);
+        startServer(DEFAULT_PORT);
+    }
+
+    /**
+     * Avvia il server REST sulla porta indicata.
+     * @param port
+     * @throws IOException
+     */
+    public void startServer(int port) throws IOException {
+        server = HttpServer.createSimpleServer("/", port);
         ServerConfiguration config = server.getServerConfiguration();
         
         config.addHttpHandler(new CreditsHandler(), "/api/credits");
+
+        streamHandler = new StreamHandler();
+        gameHandler = new GameHandler(streamHandler);
+        config.addHttpHandler(gameHandler, "/api/games", "/api/games/*");
         
         Runtime.getRuntime().addShutdownHook(new Thread(() -> {
             server.shutdownNow();
@@ -43,5 +62,11 @@ public class RestServer {
         if (server != null) {
             server.shutdownNow();
         }
+        if (gameHandler != null) {
+            gameHandler.shutdown();
+        }
+        if (streamHandler != null) {
+            streamHandler.shutdown();
+        }
     }
 }
\ No newline at end of file
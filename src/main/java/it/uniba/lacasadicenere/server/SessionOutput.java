@@ -0,0 +1,49 @@
+package it.uniba.lacasadicenere.server;
+
+import it.uniba.lacasadicenere.type.GameEventListener;
+
+/**
+ * Listener degli eventi di una sessione giocata via REST.
+ * Accumula il testo prodotto dalla partita fino alla risposta successiva
+ * e ricorda se la partita è terminata.
+ */
+class SessionOutput implements GameEventListener {
+
+    private final StringBuilder text = new StringBuilder();
+    private boolean ended;
+
+    @Override
+    public synchronized void onText(String text) {
+        this.text.append(text);
+    }
+
+    @Override
+    public synchronized void onGameEnded() {
+        ended = true;
+    }
+
+    /**
+     * Restituisce il testo accumulato e svuota il buffer.
+     * @return il testo prodotto dall'ultima chiamata
+     */
+    synchronized String drainText() {
+        String result = text.toString();
+        text.setLength(0);
+        return result;
+    }
+
+    /**
+     * Indica se la partita è terminata.
+     * @return true se è arrivato l'evento di fine partita
+     */
+    synchronized boolean isEnded() {
+        return ended;
+    }
+
+    /**
+     * Riporta la partita in corso, dopo il caricamento di un salvataggio.
+     */
+    synchronized void clearEnded() {
+        ended = false;
+    }
+}
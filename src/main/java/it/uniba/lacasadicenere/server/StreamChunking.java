@@ -0,0 +1,117 @@
+package it.uniba.lacasadicenere.server;
+
+/**
+ * Modo in cui il testo di una partita viene suddiviso in eventi dello stream:
+ * un messaggio intero per evento, una parola per evento o un numero fisso di caratteri,
+ * con una pausa tra un frammento e il successivo.
+ * Con un carattere per evento e 30 ms di pausa lo stream riproduce l'effetto
+ * di scrittura lenta della GUI.
+ *
+ * @param mode tipo di suddivisione
+ * @param size caratteri per evento, usato solo con Mode.CHARS
+ * @param delayMillis pausa tra due frammenti, in millisecondi
+ */
+record StreamChunking(Mode mode, int size, int delayMillis) {
+
+    /**
+     * Pausa predefinita tra i frammenti, la stessa del testo animato della GUI.
+     */
+    static final int DEFAULT_DELAY = 30;
+
+    /**
+     * Pausa massima accettata tra i frammenti.
+     */
+    static final int MAX_DELAY = 5000;
+
+    /**
+     * Tipi di suddivisione del testo.
+     */
+    enum Mode {
+        /**
+         * Un evento per ogni messaggio del gioco
+         */
+        MESSAGE,
+
+        /**
+         * Un evento per ogni parola
+         */
+        WORD,
+
+        /**
+         * Un evento ogni size caratteri
+         */
+        CHARS
+    }
+
+    /**
+     * Interpreta i parametri della richiesta.
+     * @param chunk "message", "word" o un numero di caratteri; se assente, "message"
+     * @param delay pausa in millisecondi; se assente, 0 per "message" e DEFAULT_DELAY negli altri casi
+     * @return la suddivisione richiesta
+     * @throws IllegalArgumentException se un parametro non è valido
+     */
+    static StreamChunking parse(String chunk, String delay) {
+        Mode mode;
+        int size = 0;
+        if (chunk == null || chunk.isBlank() || "message".equalsIgnoreCase(chunk.trim())) {
+            mode = Mode.MESSAGE;
+        } else if ("word".equalsIgnoreCase(chunk.trim())) {
+            mode = Mode.WORD;
+        } else {
+            mode = Mode.CHARS;
+            size = parseInt(chunk, "chunk");
+            if (size < 1) {
+                throw new IllegalArgumentException("chunk deve essere \"message\", \"word\" o un numero positivo.");
+            }
+        }
+
+        int delayMillis;
+        if (delay == null || delay.isBlank()) {
+            delayMillis = mode == Mode.MESSAGE ? 0 : DEFAULT_DELAY;
+        } else {
+            delayMillis = parseInt(delay, "delay");
+            if (delayMillis < 0 || delayMillis > MAX_DELAY) {
+                throw new IllegalArgumentException("delay deve essere tra 0 e " + MAX_DELAY + " millisecondi.");
+            }
+        }
+        return new StreamChunking(mode, size, delayMillis);
+    }
+
+    private static int parseInt(String value, String name) {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Valore non valido per " + name + ": " + value);
+        }
+    }
+
+    /**
+     * Calcola la fine del frammento che inizia alla posizione indicata.
+     * @param text testo del messaggio
+     * @param start inizio del frammento
+     * @return posizione successiva all'ultimo carattere del frammento
+     */
+    int end(String text, int start) {
+        int length = text.length();
+        switch (mode) {
+            case WORD:
+                int end = start;
+                while (end < length && Character.isWhitespace(text.charAt(end))) {
+                    end++;
+                }
+                while (end < length && !Character.isWhitespace(text.charAt(end))) {
+                    end++;
+                }
+                return end;
+            case CHARS:
+                end = (int) Math.min(length, (long) start + size);
+                // non separa le due metà di un carattere fuori dal BMP
+                if (end < length && Character.isHighSurrogate(text.charAt(end - 1))) {
+                    end++;
+                }
+                return end;
+            default:
+                return length;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package it.uniba.lacasadicenere.server;
+
+import it.uniba.lacasadicenere.service.GameSession;
+import it.uniba.lacasadicenere.service.GameSessionRegistry;
+
+import org.glassfish.grizzly.CloseListener;
+import org.glassfish.grizzly.CloseType;
+import org.glassfish.grizzly.Closeable;
+import org.glassfish.grizzly.http.io.NIOOutputStream;
+import org.glassfish.grizzly.http.server.HttpHandler;
+import org.glassfish.grizzly.http.server.Request;
+import org.glassfish.grizzly.http.server.Response;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Handler per l'endpoint /api/games/{id}/stream, che invia il testo di una partita
+ * come Server-Sent Events mentre viene prodotto. La partita è una di quelle create
+ * con POST /api/games; i comandi si inviano a /api/games/{id}/commands.
+ * Le richieste arrivano da GameHandler, che gestisce tutto il percorso /api/games.
+ *
+ * Parametri opzionali:
+ * chunk  "message" (un evento per messaggio, predefinito), "word" o un numero di caratteri per evento
+ * delay  pausa in millisecondi tra due frammenti (predefinita 0 per "message", 30 altrimenti)
+ *
+ * La risposta resta sospesa finché il client è collegato; tutti gli stream condividono
+ * un piccolo pool di thread che scrive senza bloccare, quindi nessun thread resta
+ * occupato per ogni giocatore collegato.
+ */
+public class StreamHandler extends HttpHandler {
+
+    private static final String PREFIX = "/api/games/";
+
+    static final String SUFFIX = "/stream";
+
+    /**
+     * Intervallo tra due commenti di keep-alive, in secondi.
+     */
+    private static final long PING_PERIOD_SECONDS = 15;
+
+    private final ScheduledExecutorService scheduler;
+
+    private final Set<EventStream> streams = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Crea l'handler con un thread di scrittura per processore.
+     */
+    public StreamHandler() {
+        AtomicInteger counter = new AtomicInteger();
+        scheduler = Executors.newScheduledThreadPool(Runtime.getRuntime().availableProcessors(), r -> {
+            Thread thread = new Thread(r, "sse-writer-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(this::ping, PING_PERIOD_SECONDS, PING_PERIOD_SECONDS, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public void service(Request request, Response response) throws Exception {
+        response.setHeader("Access-Control-Allow-Origin", "*");
+        response.setHeader("Access-Control-Allow-Methods", "GET, OPTIONS");
+        response.setHeader("Access-Control-Allow-Headers", "Content-Type");
+
+        String method = request.getMethod().getMethodString();
+        if ("OPTIONS".equalsIgnoreCase(method)) {
+            response.setStatus(200);
+            return;
+        }
+
+        String uri = request.getRequestURI();
+        if (uri == null || !uri.startsWith(PREFIX) || !uri.endsWith(SUFFIX)
+                || uri.length() <= PREFIX.length() + SUFFIX.length()) {
+            GameHandler.sendError(response, 404, "Risorsa non trovata.");
+            return;
+        }
+        if (!"GET".equalsIgnoreCase(method)) {
+            GameHandler.sendError(response, 405, "Metodo non permesso. Usa GET.");
+            return;
+        }
+
+        String id = uri.substring(PREFIX.length(), uri.length() - SUFFIX.length());
+        GameSession session = GameSessionRegistry.get(id);
+        if (session == null) {
+            GameHandler.sendError(response, 404, "Partita non trovata.");
+            return;
+        }
+
+        StreamChunking chunking;
+        try {
+            chunking = StreamChunking.parse(request.getParameter("chunk"), request.getParameter("delay"));
+        } catch (IllegalArgumentException e) {
+            GameHandler.sendError(response, 400, e.getMessage());
+            return;
+        }
+
+        response.setStatus(200);
+        response.setContentType("text/event-stream; charset=UTF-8");
+        response.setHeader("Cache-Control", "no-cache");
+        response.suspend();
+
+        // invia subito le intestazioni, così il client sa che lo stream è aperto
+        NIOOutputStream out = response.getNIOOutputStream();
+        out.write(": stream aperto\n\n".getBytes(StandardCharsets.UTF_8));
+        out.flush();
+
+        EventStream stream = new EventStream(session, response, chunking, scheduler, streams::remove);
+        streams.add(stream);
+        session.getListeners().add(stream);
+
+        CloseListener<Closeable, CloseType> onClosed = (closeable, type) -> stream.close();
+        request.getConnection().addCloseListener(onClosed);
+    }
+
+    /**
+     * Invia il keep-alive a tutti gli stream e chiude quelli di sessioni rimosse.
+     */
+    private void ping() {
+        for (EventStream stream : streams) {
+            if (GameSessionRegistry.get(stream.getSession().getId()) != stream.getSession()) {
+                stream.close();
+            } else {
+                stream.ping();
+            }
+        }
+    }
+
+    /**
+     * Chiude gli stream aperti e ferma il pool di scrittura.
+     */
+    public void shutdown() {
+        for (EventStream stream : streams) {
+            stream.close();
+        }
+        scheduler.shutdownNow();
+    }
+}
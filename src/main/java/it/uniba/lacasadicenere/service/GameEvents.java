@@ -0,0 +1,79 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+
+package it.uniba.lacasadicenere.service;
+
+import it.uniba.lacasadicenere.type.GameEventListener;
+
+import java.util.List;
+
+/**
+ * Classe che distribuisce gli eventi del gioco ai listener registrati.
+ * Il modello e i servizi pubblicano qui testo, inventario e cambi di stanza senza
+ * dipendere dalla GUI; senza listener gli eventi vengono semplicemente scartati,
+ * così il gioco può girare anche senza display (es. simulazioni o server).
+ * I listener appartengono alla sessione di gioco: ogni evento arriva solo ai
+ * listener della sessione corrente.
+ */
+public class GameEvents {
+
+    private GameEvents() {
+    }
+
+    /**
+     * Registra un listener nella sessione corrente.
+     * @param listener
+     */
+    public static void addListener(GameEventListener listener) {
+        GameSession.current().getListeners().add(listener);
+    }
+
+    /**
+     * Rimuove un listener registrato nella sessione corrente.
+     * @param listener
+     */
+    public static void removeListener(GameEventListener listener) {
+        GameSession.current().getListeners().remove(listener);
+    }
+
+    /**
+     * Pubblica un blocco di testo.
+     * @param text
+     */
+    public static void text(String text) {
+        for (GameEventListener listener : GameSession.current().getListeners()) {
+            listener.onText(text);
+        }
+    }
+
+    /**
+     * Pubblica il nuovo contenuto dell'inventario.
+     * @param items nomi degli oggetti nell'inventario
+     */
+    public static void inventoryChanged(List<String> items) {
+        for (GameEventListener listener : GameSession.current().getListeners()) {
+            listener.onInventoryChanged(items);
+        }
+    }
+
+    /**
+     * Pubblica il cambio della stanza corrente.
+     * @param roomName
+     */
+    public static void roomChanged(String roomName) {
+        for (GameEventListener listener : GameSession.current().getListeners()) {
+            listener.onRoomChanged(roomName);
+        }
+    }
+
+    /**
+     * Pubblica la fine della partita.
+     */
+    public static void gameEnded() {
+        for (GameEventListener listener : GameSession.current().getListeners()) {
+            listener.onGameEnded();
+        }
+    }
+}
@@ -5,75 +5,75 @@
 
 package it.uniba.lacasadicenere.service;
 
-import it.uniba.lacasadicenere.view.GamePanel;
-import it.uniba.lacasadicenere.view.MapDialog;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 
 /**
  * Classe che gestisce l'input dell'utente.
+ * I comandi inseriti vengono accodati e consumati in ordine da un unico thread,
+ * che resta sospeso finché la coda è vuota.
  */
 public class GameFlowController {
 
-    private static GamePanel gamePanel;
-
-    private static String userInput = "";
+    /**
+     * Numero massimo di comandi in attesa di essere eseguiti.
+     */
+    private static final int QUEUE_CAPACITY = 32;
 
-    public static void setGamePanel(GamePanel panel) {
-        gamePanel = panel;
-    }
-    
     /**
-     * Aggiorna la mappa nella finestra separata
+     * Comandi inseriti dall'utente e non ancora eseguiti, in ordine di inserimento.
      */
-    public static void updateMap() {
-        MapDialog mapDialog = MapDialog.getInstance();
-        if (mapDialog != null && mapDialog.isVisible()) {
-            mapDialog.updateMap();
-        }
-    }
+    private static final BlockingQueue<String> commands = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
 
     /**
-     * Restituisce l'input corrente e svuota il buffer
-     * Metodo thread-safe: l'accesso è sincronizzato per evitare condizioni di gara.
-     *
-     * @return l'input utente corrente; stringa vuota se non presente
+     * Thread che esegue i comandi, avviato una sola volta.
      */
-    public static synchronized String getUserInput() {
-        String temp = userInput;
-        userInput = "";
-        return temp;
-    }
+    private static Thread listener;
 
     /**
-     * Imposta l'input utente nel buffer
-     * @param userInput 
+     * Accoda un comando inserito dall'utente.
+     * Se la coda è piena il comando viene rifiutato, così l'interfaccia può lasciarlo
+     * nel campo di input invece di perderlo.
+     *
+     * @param command il testo del comando
+     * @return true se il comando è stato accodato, false se la coda è piena
      */
-    public static synchronized void setUserInput(String userInput) {
-        GameFlowController.userInput = userInput;
+    public static boolean submitCommand(String command) {
+        return commands.offer(command);
     }
 
     /**
-     * Verifica se l'input utente è vuoto
-     * @return true se l'input è vuoto, false altrimenti
+     * Scarta i comandi inseriti e non ancora eseguiti.
      */
-    public static synchronized boolean isUserInputEmpty() {
-        return userInput.isEmpty();
+    public static void clearPendingInput() {
+        commands.clear();
     }
 
     /**
-     * Avvia un thread che ascolta l'input utente e avvia il flusso di gioco quando l'input è disponibile.
+     * Avvia il thread che esegue i comandi accodati, uno alla volta e nell'ordine di inserimento.
+     * Chiamate successive alla prima non hanno effetto.
      */
-    public static void startInputListener() {
-        new Thread(() -> {
+    public static synchronized void startInputListener() {
+        if (listener != null) {
+            return;
+        }
+        listener = new Thread(() -> {
             while (true) {
-                if (!isUserInputEmpty()) {
-                    InputService.gameFlow(getUserInput());
-                }
+                String command;
                 try {
-                    Thread.sleep(100);
+                    command = commands.take();
                 } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                try {
+                    InputService.gameFlow(command);
+                } catch (RuntimeException e) {
                     e.printStackTrace();
                 }
             }
-        }).start();
+        }, "input-listener");
+        listener.setDaemon(true);
+        listener.start();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,262 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+
+package it.uniba.lacasadicenere.service;
+
+import it.uniba.lacasadicenere.controller.CommandHandler;
+import it.uniba.lacasadicenere.controller.Parser;
+import it.uniba.lacasadicenere.model.Game;
+import it.uniba.lacasadicenere.model.Item;
+import it.uniba.lacasadicenere.type.GameEventListener;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+/**
+ * Classe che contiene lo stato di una partita: il gioco, il parser, il gestore dei comandi,
+ * l'evento in corso, il gioco degli specchi, gli oggetti e i listener degli eventi.
+ * I metodi statici del gioco (Game.getInstance(), InputService, MirrorGame, GameEvents)
+ * lavorano sulla sessione associata al thread corrente; se il thread non ha una sessione
+ * usano quella predefinita, che è la partita della GUI.
+ * Più thread possono così giocare partite diverse nella stessa JVM, ognuno dentro run o call.
+ */
+public class GameSession {
+
+    private static final GameSession DEFAULT = new GameSession("default");
+
+    private static final ThreadLocal<GameSession> CURRENT = new ThreadLocal<>();
+
+    private final String id;
+
+    private final List<GameEventListener> listeners = new CopyOnWriteArrayList<>();
+
+    private Game game = new Game();
+
+    private Map<String, Item> items = new HashMap<>();
+
+    private Parser parser;
+
+    private CommandHandler commandExecutor;
+
+    private MirrorGame mirrorGame;
+
+    private volatile int event;
+
+    private String savedGame;
+
+    private String savedItems;
+
+    private volatile long lastAccess = System.nanoTime();
+
+    /**
+     * Crea una sessione vuota; la partita va creata con GameController dentro run.
+     * @param id identificativo della sessione
+     */
+    public GameSession(String id) {
+        this.id = id;
+    }
+
+    /**
+     * Restituisce la sessione associata al thread corrente, o quella predefinita.
+     * @return la sessione corrente
+     */
+    public static GameSession current() {
+        GameSession session = CURRENT.get();
+        return session != null ? session : DEFAULT;
+    }
+
+    /**
+     * Restituisce la sessione predefinita, usata dalla GUI e dai thread senza sessione.
+     * @return la sessione predefinita
+     */
+    public static GameSession getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Esegue un'azione con questa sessione come sessione corrente.
+     * Le azioni sulla stessa sessione vengono eseguite una alla volta.
+     * @param action
+     */
+    public void run(Runnable action) {
+        call(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Esegue un'azione con questa sessione come sessione corrente e ne restituisce il risultato.
+     * Le azioni sulla stessa sessione vengono eseguite una alla volta.
+     * @param <T>
+     * @param action
+     * @return il risultato dell'azione
+     */
+    public synchronized <T> T call(Supplier<T> action) {
+        GameSession previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return action.get();
+        } finally {
+            lastAccess = System.nanoTime();
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    /**
+     * Restituisce l'identificativo della sessione.
+     * @return id
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Restituisce il momento dell'ultimo accesso, in nanosecondi (System.nanoTime()).
+     * @return lastAccess
+     */
+    public long getLastAccess() {
+        return lastAccess;
+    }
+
+    /**
+     * Restituisce i listener degli eventi di questa sessione.
+     * @return lista modificabile e thread-safe dei listener
+     */
+    public List<GameEventListener> getListeners() {
+        return listeners;
+    }
+
+    /**
+     * Restituisce la partita della sessione.
+     * @return game
+     */
+    public Game getGame() {
+        return game;
+    }
+
+    /**
+     * Imposta la partita della sessione.
+     * @param game
+     */
+    public void setGame(Game game) {
+        this.game = game;
+    }
+
+    /**
+     * Restituisce gli oggetti della partita, indicizzati per nome.
+     * @return items
+     */
+    public Map<String, Item> getItems() {
+        return items;
+    }
+
+    /**
+     * Imposta gli oggetti della partita.
+     * @param items
+     */
+    public void setItems(Map<String, Item> items) {
+        this.items = items;
+    }
+
+    /**
+     * Restituisce il parser della sessione.
+     * @return parser, o null se la partita non è stata avviata
+     */
+    public Parser getParser() {
+        return parser;
+    }
+
+    /**
+     * Imposta il parser della sessione.
+     * @param parser
+     */
+    public void setParser(Parser parser) {
+        this.parser = parser;
+    }
+
+    /**
+     * Restituisce il gestore dei comandi della sessione.
+     * @return commandExecutor, o null se la partita non è stata avviata
+     */
+    public CommandHandler getCommandExecutor() {
+        return commandExecutor;
+    }
+
+    /**
+     * Imposta il gestore dei comandi della sessione.
+     * @param commandExecutor
+     */
+    public void setCommandExecutor(CommandHandler commandExecutor) {
+        this.commandExecutor = commandExecutor;
+    }
+
+    /**
+     * Restituisce il gioco degli specchi della sessione, creandolo al primo accesso.
+     * @return mirrorGame
+     */
+    public MirrorGame getMirrorGame() {
+        if (mirrorGame == null) {
+            mirrorGame = new MirrorGame();
+        }
+        return mirrorGame;
+    }
+
+    /**
+     * Scarta il gioco degli specchi: al prossimo accesso ne viene creato uno nuovo.
+     */
+    public void resetMirrorGame() {
+        mirrorGame = null;
+    }
+
+    /**
+     * Restituisce l'evento in corso (0 parser, 1 gioco degli specchi, 2 finale).
+     * @return event
+     */
+    public int getEvent() {
+        return event;
+    }
+
+    /**
+     * Imposta l'evento in corso.
+     * @param event
+     */
+    public void setEvent(int event) {
+        this.event = event;
+    }
+
+    /**
+     * Memorizza un salvataggio della partita nella sessione.
+     * @param gameJson stato del gioco in JSON
+     * @param itemsJson oggetti fuori da stanze e inventario in JSON
+     */
+    public void setSave(String gameJson, String itemsJson) {
+        this.savedGame = gameJson;
+        this.savedItems = itemsJson;
+    }
+
+    /**
+     * Restituisce lo stato del gioco salvato nella sessione.
+     * @return JSON della partita, o null se la sessione non ha salvataggi
+     */
+    public String getSavedGame() {
+        return savedGame;
+    }
+
+    /**
+     * Restituisce gli oggetti salvati nella sessione.
+     * @return JSON degli oggetti, o null se la sessione non ha salvataggi
+     */
+    public String getSavedItems() {
+        return savedItems;
+    }
+}
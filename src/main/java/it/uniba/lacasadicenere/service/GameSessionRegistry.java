@@ -0,0 +1,200 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+
+package it.uniba.lacasadicenere.service;
+
+import it.uniba.lacasadicenere.controller.GameController;
+import it.uniba.lacasadicenere.model.Game;
+import it.uniba.lacasadicenere.type.GameEventListener;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Registro delle sessioni di gioco attive, indicizzate per identificativo.
+ * Ogni sessione è una partita indipendente. Le sessioni non usate da più di
+ * IDLE_TIMEOUT_MINUTES minuti vengono rimosse da un thread in background.
+ * Il numero di sessioni attive è limitato, così chi crea partite in continuazione
+ * non può esaurire la memoria: il limite predefinito è DEFAULT_MAX_SESSIONS,
+ * impostabile all'avvio con -Dlacasadicenere.maxSessions=N o con setMaxSessions.
+ */
+public final class GameSessionRegistry {
+
+    /**
+     * Minuti di inattività dopo i quali una sessione viene rimossa.
+     */
+    private static final long IDLE_TIMEOUT_MINUTES = 30;
+
+    /**
+     * Intervallo tra due controlli delle sessioni inattive, in secondi.
+     */
+    private static final long EVICTION_PERIOD_SECONDS = 60;
+
+    /**
+     * Numero massimo predefinito di sessioni attive.
+     */
+    public static final int DEFAULT_MAX_SESSIONS = 10_000;
+
+    private static final Map<String, GameSession> sessions = new ConcurrentHashMap<>();
+
+    /**
+     * Sessioni attive o in creazione: viene incrementato prima di creare la partita,
+     * così il limite vale anche per le creazioni concorrenti.
+     */
+    private static final AtomicInteger count = new AtomicInteger();
+
+    private static volatile int maxSessions = parseMaxSessions(System.getProperty("lacasadicenere.maxSessions"));
+
+    private static ScheduledExecutorService evictor;
+
+    /**
+     * Eccezione lanciata da create quando è stato raggiunto il numero massimo di sessioni.
+     */
+    public static final class SessionLimitException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private SessionLimitException(int max) {
+            super("Raggiunto il numero massimo di sessioni attive (" + max + ")");
+        }
+    }
+
+    private GameSessionRegistry() {
+    }
+
+    /**
+     * Crea una sessione con una nuova partita, già pronta a ricevere comandi.
+     * Il testo iniziale della partita viene inviato al listener indicato.
+     * @param listener listener degli eventi della sessione (può essere null)
+     * @return la sessione creata
+     * @throws SessionLimitException se le sessioni attive sono già al massimo
+     */
+    public static GameSession create(GameEventListener listener) {
+        startEvictor();
+
+        int max = maxSessions;
+        if (count.incrementAndGet() > max) {
+            count.decrementAndGet();
+            throw new SessionLimitException(max);
+        }
+        try {
+            GameSession session = new GameSession(UUID.randomUUID().toString());
+            if (listener != null) {
+                session.getListeners().add(listener);
+            }
+            session.run(() -> {
+                new GameController().createGame();
+                InputService.setUpGameFlow(Game.getInstance());
+            });
+            sessions.put(session.getId(), session);
+            return session;
+        } catch (RuntimeException e) {
+            count.decrementAndGet();
+            throw e;
+        }
+    }
+
+    /**
+     * Imposta il numero massimo di sessioni attive. Le sessioni già attive oltre
+     * il nuovo limite restano, ma non se ne possono creare altre finché non scendono sotto.
+     * @param max numero massimo di sessioni, almeno 1
+     */
+    public static void setMaxSessions(int max) {
+        maxSessions = Math.max(1, max);
+    }
+
+    /**
+     * Restituisce il numero massimo di sessioni attive.
+     * @return maxSessions
+     */
+    public static int getMaxSessions() {
+        return maxSessions;
+    }
+
+    /**
+     * Restituisce una sessione attiva.
+     * @param id identificativo della sessione
+     * @return la sessione, o null se non esiste o è stata rimossa
+     */
+    public static GameSession get(String id) {
+        return id != null ? sessions.get(id) : null;
+    }
+
+    /**
+     * Rimuove una sessione.
+     * @param id identificativo della sessione
+     * @return la sessione rimossa, o null se non esisteva
+     */
+    public static GameSession remove(String id) {
+        GameSession session = id != null ? sessions.remove(id) : null;
+        if (session != null) {
+            count.decrementAndGet();
+        }
+        return session;
+    }
+
+    /**
+     * Restituisce il numero di sessioni attive.
+     * @return numero di sessioni
+     */
+    public static int size() {
+        return sessions.size();
+    }
+
+    /**
+     * Rimuove le sessioni non usate da più del tempo indicato.
+     * @param idleNanos tempo massimo di inattività, in nanosecondi
+     * @return numero di sessioni rimosse
+     */
+    public static int evictIdle(long idleNanos) {
+        long now = System.nanoTime();
+        int removed = 0;
+        for (GameSession session : sessions.values()) {
+            if (now - session.getLastAccess() > idleNanos && sessions.remove(session.getId(), session)) {
+                count.decrementAndGet();
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Interpreta il limite di sessioni indicato all'avvio.
+     * @param value numero di sessioni, o null per il limite predefinito
+     * @return il limite da usare
+     */
+    private static int parseMaxSessions(String value) {
+        if (value == null || value.isBlank()) {
+            return DEFAULT_MAX_SESSIONS;
+        }
+        try {
+            return Math.max(1, Integer.parseInt(value.trim()));
+        } catch (NumberFormatException e) {
+            System.err.println("Numero massimo di sessioni non valido: " + value + ", uso " + DEFAULT_MAX_SESSIONS);
+            return DEFAULT_MAX_SESSIONS;
+        }
+    }
+
+    /**
+     * Avvia il controllo periodico delle sessioni inattive, se non è già attivo.
+     */
+    private static synchronized void startEvictor() {
+        if (evictor != null) {
+            return;
+        }
+        evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "session-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long idleNanos = TimeUnit.MINUTES.toNanos(IDLE_TIMEOUT_MINUTES);
+        evictor.scheduleAtFixedRate(() -> evictIdle(idleNanos),
+                EVICTION_PERIOD_SECONDS, EVICTION_PERIOD_SECONDS, TimeUnit.SECONDS);
+    }
+}
@@ -8,32 +8,38 @@ package it.uniba.lacasadicenere.service;
 import it.uniba.lacasadicenere.database.DatabaseH2;
 import it.uniba.lacasadicenere.model.Game;
 import it.uniba.lacasadicenere.model.Item;
-import it.uniba.lacasadicenere.view.GamePanel;
-import it.uniba.lacasadicenere.view.MainFrame;
 import it.uniba.lacasadicenere.controller.CommandHandler;
 import it.uniba.lacasadicenere.controller.Parser;
 import it.uniba.lacasadicenere.type.ParserOutput;
-import it.uniba.lacasadicenere.util.TextAnimator;
-
-import java.util.List;
 
 /**
  * Classe che gestisce il flusso di input dell'utente e gli eventi speciali del gioco.
  */
 public class InputService {
 
-    public static int Event;
+    /**
+     * Restituisce l'evento in corso nella sessione corrente
+     * (0 parser, 1 gioco degli specchi, 2 finale).
+     * @return evento in corso
+     */
+    public static int getEvent() {
+        return GameSession.current().getEvent();
+    }
 
-    private static Parser parser;
-    private static CommandHandler commandExecutor;
-    private static MirrorGame mirrorGame;
+    /**
+     * Imposta l'evento in corso nella sessione corrente.
+     * @param event
+     */
+    public static void setEvent(int event) {
+        GameSession.current().setEvent(event);
+    }
 
     /**
      * Punto di ingresso principale per processare l'input dell'utente.
      * Non visualizza l'input dell'utente - lo gestiscono i metodi specifici.
      */
     public static void gameFlow(final String text) {
-        switch(Event) {
+        switch(getEvent()) {
             case 0:
                 parserFlow(text);
                 break;
@@ -54,17 +60,10 @@ public class InputService {
      */
     private static void parserFlow(final String text) {
 
-        while (TextAnimator.isWriting()) {
-            try {
-                Thread.sleep(50);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                break;
-            }
-        }
-        
         OutputService.displayTextImmediate("> " + text);
 
+        GameSession session = GameSession.current();
+        Parser parser = session.getParser();
         if(parser == null) {
             OutputService.displayText("Errore nell'inizializzazione del parser. Avviare di nuovo il gioco.");
             return;
@@ -72,7 +71,7 @@ public class InputService {
         ParserOutput parserOutput = parser.parse(text);
 
         if(parserOutput.getCommand() != null) {
-            commandExecutor.execute(parserOutput);
+            session.getCommandExecutor().execute(parserOutput);
         } else {
             OutputService.displayText("Comando non riconosciuto. Riprova.");
         }
@@ -83,38 +82,20 @@ public class InputService {
      */
     private static void mirrorGameFlow(final String text) {
 
-        while (TextAnimator.isWriting()) {
-            try {
-                Thread.sleep(50);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                break;
-            }
-        }
-        
         OutputService.displayTextImmediate("> " + text);
 
-        if(mirrorGame == null) {
+        if(GameSession.current().getParser() == null) {
             OutputService.displayText("Errore: gioco non inizializzato.");
-            Event = 0;
+            setEvent(0);
             return;
         }        
-        mirrorGame.checkAnswer(text);
+        MirrorGame.getInstance().checkAnswer(text);
     }
 
     /**
      * Gestisce il finale del gioco quando il giocatore completa tutti gli obiettivi.
      */
     private static void endingFlow(final String text) {
-        while (TextAnimator.isWriting()) {
-            try {
-                Thread.sleep(50);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                break;
-            }
-        }
-        
         if (text != null && !text.trim().isEmpty()) {
             OutputService.displayTextImmediate("> " + text);
         }
@@ -124,61 +105,33 @@ public class InputService {
                 + "e una sensazione di pace ti avvolge. Hai riportato la luce, la memoria e la protezione… "
                 + "e La Casa di Cenere finalmente riposa.";
 
-        TextAnimator scrittura = new TextAnimator(testo, 50);
-        scrittura.start();
-
-        new Thread(() -> {
-            try {
-                scrittura.join();
-                
-                TextAnimator pausa = new TextAnimator(3000);
-                pausa.start();
-                pausa.join();
-                
-                MainFrame.closeGame();
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
-        }).start();
+        OutputService.writeText(testo, 50);
+        OutputService.pause(3000).thenRun(GameEvents::gameEnded);
     }
 
     /**
      * Configura il flusso di gioco per una nuova partita.
      */
     public static void setUpGameFlow(final Game game) {
-        Event = 0;
+        setEvent(0);
         if(game.getCurrentRoom() == null) {
             OutputService.displayText("Errore nell'inizializzazione della stanza corrente. Avviare di nuovo il gioco.");
             return;
         }
         DatabaseH2.printFromDB("0", game.getCurrentRoom().getName(), "true", "0", "0");
 
-        mirrorGame = MirrorGame.getInstance();
-        parser = new Parser();
-        commandExecutor = new CommandHandler(game);
-
-        commandExecutor.setOnRoomChangeListener(() -> {
-            GameFlowController.updateMap();
-        });
+        setUpSession(game);
     }
         
     /**
      * Configura il flusso di gioco per una partita caricata.
      */
     public static void setUpLoadedGameFlow(final Game game) {
-        Event = 0;
+        setEvent(0);
         
-        mirrorGame = MirrorGame.getInstance();
-        parser = new Parser();
-        commandExecutor = new CommandHandler(game);
+        setUpSession(game);
 
-        commandExecutor.setOnRoomChangeListener(() -> {
-            GameFlowController.updateMap();
-        });
-        
-        List<String> itemsNames = game.getInventory().stream().map(Item::getName).toList();
-        String[] itemsNamesArray = itemsNames.toArray(new String[0]);
-        GamePanel.updateInventoryTextArea(itemsNamesArray);
+        GameEvents.inventoryChanged(game.getInventory().stream().map(Item::getName).toList());
         if (game.getCurrentRoom().getName().equals("Stanza1")) {
             DatabaseH2.printFromDB("0", game.getCurrentRoom().getName(), "true", "0", "0");
         }
@@ -187,4 +140,14 @@ public class InputService {
             DatabaseH2.printFromDB("Osserva", game.getCurrentRoom().getName(), "true", "0", "0");
         }
     }
+
+    /**
+     * Crea parser e gestore dei comandi della sessione corrente per la partita indicata.
+     */
+    private static void setUpSession(final Game game) {
+        GameSession session = GameSession.current();
+        session.resetMirrorGame();
+        session.setParser(new Parser());
+        session.setCommandExecutor(new CommandHandler(game));
+    }
 }
\ No newline at end of file
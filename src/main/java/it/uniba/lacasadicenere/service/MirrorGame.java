@@ -2,7 +2,6 @@ package it.uniba.lacasadicenere.service;
 
 import it.uniba.lacasadicenere.model.Game;
 import it.uniba.lacasadicenere.database.DatabaseH2;
-import it.uniba.lacasadicenere.view.GamePanel;
 
 /**
  * Classe che gestisce il gioco degli specchi.
@@ -14,22 +13,18 @@ public class MirrorGame {
     };
 
     private static final int CORRECT_NUMBER = 13;
-    private static boolean solved = false;
-    private static MirrorGame instance;
+    private boolean solved = false;
 
     private static final String QUESTION = "Quanti specchi ci sono davanti a te nella stanza?";
 
-    private MirrorGame() { }
+    MirrorGame() { }
 
     /**
-     * Restituisce l'istanza singleton di MirrorGame.
+     * Restituisce il gioco degli specchi della sessione corrente.
      * @return
      */
     public static MirrorGame getInstance() {
-        if (instance == null) {
-            instance = new MirrorGame();
-        }
-        return instance;
+        return GameSession.current().getMirrorGame();
     }
 
     /**
@@ -37,16 +32,19 @@ public class MirrorGame {
      */
     public void startGame() {
         Game game = Game.getInstance();
-        GamePanel.setImagePanel(game.getCurrentRoom().getName());
+        GameEvents.roomChanged(game.getCurrentRoom().getName());
         
         DatabaseH2.printFromDB("Usa", game.getCurrentRoom().getName(), 
         "true", "Telefono", "0"); 
         
-        GameFlowController.getUserInput();
+        // La coda dei comandi della GUI appartiene alla sessione predefinita
+        if (GameSession.current() == GameSession.getDefault()) {
+            GameFlowController.clearPendingInput();
+        }
 
         OutputService.displayText(QUESTION + "\nScrivi il numero di specchi che vedi:");
 
-        InputService.Event = 1;
+        InputService.setEvent(1);
     }
 
     /**
@@ -69,7 +67,7 @@ public class MirrorGame {
             
             game.unlockCorridor("Stanza4", "Stanza5");
             
-            InputService.Event = 0;
+            InputService.setEvent(0);
 
         } else {
             DatabaseH2.printFromDB("0", "Stanza4", "Sbagliato", "0", "0");
@@ -105,10 +103,9 @@ public class MirrorGame {
     }
     
     /**
-     * Resetta lo stato del gioco.
+     * Resetta lo stato del gioco nella sessione corrente.
      */
     public static void reset() {
-        solved = false;
-        instance = null;
+        GameSession.current().resetMirrorGame();
     }
 }
\ No newline at end of file
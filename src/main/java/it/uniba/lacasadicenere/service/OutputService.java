@@ -5,142 +5,150 @@
 
 package it.uniba.lacasadicenere.service;
 
-import it.uniba.lacasadicenere.view.GamePanel;
+import it.uniba.lacasadicenere.type.OutputMode;
 import it.uniba.lacasadicenere.util.TextAnimator;
 
-import java.awt.FontMetrics;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.UnaryOperator;
 
 /**
- * Classe che gestisce la visualizzazione del testo nella GUI, 
- * formattando correttamente il testo con word wrapping.
+ * Classe che gestisce il testo in uscita dal gioco: formattazione, effetti di scrittura
+ * e modalità di visualizzazione. Il testo viene pubblicato con GameEvents, quindi
+ * arriva alla GUI (o a qualsiasi altro listener) senza che il gioco dipenda da essa.
+ * Formattazione ed effetti di scrittura riguardano solo la sessione predefinita (la GUI):
+ * le altre sessioni ricevono sempre il testo subito e senza a capo aggiunti.
  */
 public class OutputService {
 
-    private static final int MARGIN = 30; 
-    private static final Object DISPLAY_LOCK = new Object(); 
+    /**
+     * Pausa in millisecondi tra i caratteri del testo animato.
+     */
+    private static final int TEXT_SPEED = 30;
+
+    /**
+     * Modalità di visualizzazione corrente, impostabile all'avvio con
+     * -Dlacasadicenere.output=animated|instant|skip_on_keypress
+     */
+    private static volatile OutputMode outputMode =
+            OutputMode.parse(System.getProperty("lacasadicenere.output"), OutputMode.ANIMATED);
+
+    /**
+     * Formattazione applicata al testo prima di scriverlo (es. a capo in base alla
+     * larghezza della GUI). Senza GUI il testo resta invariato.
+     */
+    private static volatile UnaryOperator<String> textFormatter = UnaryOperator.identity();
+
+    /**
+     * Imposta la formattazione applicata al testo da displayText.
+     * @param formatter
+     */
+    public static void setTextFormatter(UnaryOperator<String> formatter) {
+        textFormatter = formatter != null ? formatter : UnaryOperator.identity();
+    }
 
     /**
-     * Visualizza il testo formattato nella GUI.
+     * Imposta la modalità di visualizzazione del testo.
+     * Passando a INSTANT, il testo ancora in scrittura viene completato subito.
+     * @param mode
+     */
+    public static void setOutputMode(OutputMode mode) {
+        outputMode = mode;
+        if (mode == OutputMode.INSTANT) {
+            TextAnimator.skip();
+        }
+    }
+
+    /**
+     * Restituisce la modalità di visualizzazione del testo.
+     * @return outputMode
+     */
+    public static OutputMode getOutputMode() {
+        return outputMode;
+    }
+
+    /**
+     * Visualizza il testo formattato con l'effetto di scrittura lenta.
+     * Il testo viene accodato dopo quello già in scrittura; il metodo ritorna quando
+     * è stato scritto completamente.
      * @param text
      */
     public static void displayText(String text) {
-        synchronized (DISPLAY_LOCK) {
-            while (TextAnimator.isWriting()) {
-                try {
-                    DISPLAY_LOCK.wait(50);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    break;
-                }
-            }
-            
-            String formattedText = formatText(text);
-            TextAnimator effetto = new TextAnimator(formattedText + "\n", 30);
-            effetto.start();
-            
-            while (TextAnimator.isWriting()) {
-                try {
-                    DISPLAY_LOCK.wait(50);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    break;
-                }
-            }
+        String formattedText = isDefaultSession() ? textFormatter.apply(text) : text;
+        writeText(formattedText + "\n", TEXT_SPEED).join();
+    }
+
+    /**
+     * Scrive un testo alla velocità indicata, senza formattarlo.
+     * In modalità INSTANT il testo viene scritto subito, senza passare da TextAnimator.
+     * @param text
+     * @param speed pausa in millisecondi tra i caratteri
+     * @return un future completato quando il testo è stato scritto
+     */
+    public static CompletableFuture<Void> writeText(String text, int speed) {
+        if (isInstant()) {
+            appendText(text);
+            return CompletableFuture.completedFuture(null);
+        }
+        return TextAnimator.write(text, speed);
+    }
+
+    /**
+     * Attende prima del testo successivo. In modalità INSTANT la pausa viene saltata.
+     * @param millis durata della pausa
+     * @return un future completato al termine della pausa
+     */
+    public static CompletableFuture<Void> pause(int millis) {
+        if (isInstant()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return TextAnimator.pause(millis);
+    }
+
+    /**
+     * Completa subito il testo in scrittura, se la modalità SKIP_ON_KEYPRESS è attiva.
+     * Chiamato alla pressione di un tasto.
+     */
+    public static void skipAnimation() {
+        if (outputMode == OutputMode.SKIP_ON_KEYPRESS) {
+            TextAnimator.skip();
         }
     }
     
     /**
      * Visualizza il testo immediatamente, senza effetti.
-     * Usato per i comandi inseriti dall'utente.
+     * Usato per i comandi inseriti dall'utente; viene comunque scritto
+     * dopo il testo accodato in precedenza.
      * 
      * @param text Il testo da visualizzare immediatamente
      */
     public static void displayTextImmediate(String text) {
-        synchronized (DISPLAY_LOCK) {
-            // Aspetta che eventuali effetti precedenti finiscano
-            while (TextAnimator.isWriting()) {
-                try {
-                    DISPLAY_LOCK.wait(50);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    break;
-                }
-            }
-            
-            GamePanel.displayTextPaneAppendText(text + "\n");
-        }
+        writeText(text + "\n", 0);
     }
 
     /**
-     * Aggiunge il testo formattato alla GUI senza cancellare il testo esistente.
-     * @param character
+     * Indica se il testo va scritto subito: in modalità INSTANT o fuori dalla sessione predefinita,
+     * perché TextAnimator scrive dal proprio thread, che appartiene alla sessione predefinita.
      */
-    public static void appendChar(String character) {
-        GamePanel.displayTextPaneAppendText(character);
+    private static boolean isInstant() {
+        return outputMode == OutputMode.INSTANT || !isDefaultSession();
+    }
+
+    private static boolean isDefaultSession() {
+        return GameSession.current() == GameSession.getDefault();
     }
 
     /**
-     * Aggiunge una nuova linea alla GUI.
+     * Aggiunge un blocco di testo all'output senza cancellare il testo esistente.
+     * @param text
      */
-    public static void appendNewLine() {
-        GamePanel.displayTextPaneAppendText("\n");
+    public static void appendText(String text) {
+        GameEvents.text(text);
     }
 
     /**
-     * Formatta il testo applicando word wrapping intelligente.
-     * Divide il testo per parole, non per caratteri singoli.
-     * 
-     * @param text Il testo da formattare
-     * @return Il testo formattato con a capo appropriati
+     * Aggiunge una nuova linea all'output.
      */
-    private static String formatText(String text) {
-        FontMetrics fontMetrics = GamePanel.getTextPaneFontMetrics();
-        int maxWidth = GamePanel.getTextPaneWidth() - MARGIN;
-        
-        if (fontMetrics == null || maxWidth <= 0) {
-            return text; 
-        }
-        
-        StringBuilder result = new StringBuilder();
-        String[] paragraphs = text.split("\n");
-        
-        for (int p = 0; p < paragraphs.length; p++) {
-            String paragraph = paragraphs[p];
-            
-            if (paragraph.trim().isEmpty()) {
-                result.append("\n");
-                continue;
-            }
-            
-            String[] words = paragraph.split("\\s+");
-            StringBuilder currentLine = new StringBuilder();
-            
-            for (String word : words) {
-                String testLine = currentLine.length() == 0 
-                    ? word 
-                    : currentLine + " " + word;
-                
-                int lineWidth = fontMetrics.stringWidth(testLine);
-                
-                if (lineWidth > maxWidth && currentLine.length() > 0) {
-                    result.append(currentLine).append("\n");
-                    currentLine = new StringBuilder(word);
-                } else {
-                    if (currentLine.length() > 0) {
-                        currentLine.append(" ");
-                    }
-                    currentLine.append(word);
-                }
-            }
-            if (currentLine.length() > 0) {
-                result.append(currentLine);
-            }
-            
-            if (p < paragraphs.length - 1) {
-                result.append("\n");
-            }
-        }
-        
-        return result.toString();
+    public static void appendNewLine() {
+        GameEvents.text("\n");
     }
-}
\ No newline at end of file
+}
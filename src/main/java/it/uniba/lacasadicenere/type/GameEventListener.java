@@ -0,0 +1,41 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Interface.java to edit this template
+ */
+package it.uniba.lacasadicenere.type;
+
+import java.util.List;
+
+/**
+ * Interfaccia per chi riceve gli eventi del gioco (testo in uscita, inventario, stanza).
+ * Il motore di gioco non conosce la GUI: pubblica gli eventi e ogni listener registrato
+ * li mostra a modo suo. I metodi non implementati ignorano l'evento.
+ */
+public interface GameEventListener {
+
+    /**
+     * Un blocco di testo da aggiungere all'output del gioco.
+     * @param text il testo, già formattato
+     */
+    void onText(String text);
+
+    /**
+     * L'inventario del giocatore è cambiato.
+     * @param items nomi degli oggetti nell'inventario
+     */
+    default void onInventoryChanged(List<String> items) {
+    }
+
+    /**
+     * Il giocatore si trova in una nuova stanza.
+     * @param roomName nome della stanza
+     */
+    default void onRoomChanged(String roomName) {
+    }
+
+    /**
+     * La partita è terminata.
+     */
+    default void onGameEnded() {
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package it.uniba.lacasadicenere.type;
+
+/**
+ * Classe enumerativa che definisce le modalità di visualizzazione del testo
+ */
+public enum OutputMode {
+
+    /**
+     * Testo scritto lentamente, carattere per carattere
+     */
+    ANIMATED,
+
+    /**
+     * Testo scritto immediatamente, senza effetti né pause
+     */
+    INSTANT,
+
+    /**
+     * Testo scritto lentamente, ma completato subito alla pressione di un tasto
+     */
+    SKIP_ON_KEYPRESS;
+
+    /**
+     * Interpreta il nome di una modalità, senza distinguere maiuscole e minuscole.
+     * @param name nome della modalità (es. "instant")
+     * @param defaultMode modalità da usare se il nome è assente o non valido
+     * @return la modalità corrispondente
+     */
+    public static OutputMode parse(String name, OutputMode defaultMode) {
+        if (name == null || name.isBlank()) {
+            return defaultMode;
+        }
+        try {
+            return valueOf(name.trim().toUpperCase().replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            System.err.println("Modalità di output non valida: " + name + ", uso " + defaultMode);
+            return defaultMode;
+        }
+    }
+}
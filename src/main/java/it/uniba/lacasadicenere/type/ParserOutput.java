@@ -39,6 +39,16 @@ public class ParserOutput {
         args = 0;
     }
     
+    /**
+     * Azzera il contenuto, per riutilizzare l'oggetto in una nuova analisi.
+     */
+    public void reset() {
+        command = null;
+        item1 = null;
+        item2 = null;
+        args = 0;
+    }
+    
     /**
      * Restituisce il numero di argomenti nel comando.
      * @return numero di argomenti
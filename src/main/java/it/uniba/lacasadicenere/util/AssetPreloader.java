@@ -0,0 +1,112 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+
+package it.uniba.lacasadicenere.util;
+
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Carica in background le risorse del gioco (immagini delle stanze, sfondo, icona e musica)
+ * mentre viene mostrato il menu. Le risorse vengono caricate in parallelo e ognuna è
+ * rappresentata da un CompletableFuture: la GUI non attende il disco o la decodifica,
+ * ma si aggiorna quando la risorsa è pronta.
+ */
+public final class AssetPreloader {
+
+    /**
+     * Immagini caricate all'avvio.
+     */
+    private static final List<String> IMAGES = List.of(
+            "src/main/resources/img/sfondo.png",
+            "src/main/resources/img/icona.png",
+            "src/main/resources/img/Stanza1.png",
+            "src/main/resources/img/Stanza2.png",
+            "src/main/resources/img/Stanza3.png",
+            "src/main/resources/img/Stanza4.png",
+            "src/main/resources/img/Stanza5.png");
+
+    private static final int THREADS = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+    private static final Map<String, CompletableFuture<BufferedImage>> images = new ConcurrentHashMap<>();
+
+    private static CompletableFuture<Music> music;
+
+    private static CompletableFuture<Void> ready;
+
+    private AssetPreloader() {
+    }
+
+    /**
+     * Avvia il caricamento di tutte le risorse. Le chiamate successive alla prima
+     * restituiscono lo stesso future.
+     * @return un future completato quando tutte le risorse sono state caricate
+     */
+    public static synchronized CompletableFuture<Void> start() {
+        if (ready != null) {
+            return ready;
+        }
+
+        AtomicInteger counter = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS, r -> {
+            Thread thread = new Thread(r, "asset-preloader-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setPriority(Thread.NORM_PRIORITY - 1);
+            return thread;
+        });
+
+        List<CompletableFuture<?>> all = new ArrayList<>();
+        music = CompletableFuture.supplyAsync(Music::getInstance, executor);
+        all.add(music);
+        for (String path : IMAGES) {
+            CompletableFuture<BufferedImage> image = CompletableFuture.supplyAsync(() -> ImageCache.get(path), executor);
+            images.put(path, image);
+            all.add(image);
+        }
+        // I task già accodati vengono comunque eseguiti, poi i thread terminano
+        executor.shutdown();
+
+        ready = CompletableFuture.allOf(all.toArray(new CompletableFuture<?>[0]));
+        return ready;
+    }
+
+    /**
+     * Restituisce il future di un'immagine. Se l'immagine non fa parte di quelle
+     * caricate all'avvio, o il caricamento non è stato avviato, l'immagine viene
+     * caricata in questo momento.
+     * @param path percorso dell'immagine
+     * @return il future dell'immagine (il valore è null se l'immagine non esiste)
+     */
+    public static CompletableFuture<BufferedImage> image(String path) {
+        CompletableFuture<BufferedImage> image = images.get(path);
+        return image != null ? image : CompletableFuture.completedFuture(ImageCache.get(path));
+    }
+
+    /**
+     * Restituisce il future della musica di sottofondo. Se il caricamento non è stato
+     * avviato, la musica viene caricata in questo momento.
+     * @return il future dell'istanza di Music
+     */
+    public static synchronized CompletableFuture<Music> music() {
+        return music != null ? music : CompletableFuture.completedFuture(Music.getInstance());
+    }
+
+    /**
+     * Indica se un'immagine è ancora in caricamento.
+     * @param path percorso dell'immagine
+     * @return true se l'immagine è in caricamento, false se è pronta o non è tra quelle caricate all'avvio
+     */
+    public static boolean isLoading(String path) {
+        CompletableFuture<BufferedImage> image = images.get(path);
+        return image != null && !image.isDone();
+    }
+}
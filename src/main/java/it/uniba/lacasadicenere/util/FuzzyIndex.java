@@ -0,0 +1,392 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+
+package it.uniba.lacasadicenere.util;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Dizionario di parole per la ricerca tollerante agli errori di battitura,
+ * secondo lo schema a cancellazioni di SymSpell.
+ * Per ogni parola inserita vengono precalcolate tutte le varianti ottenute cancellando
+ * fino a MAX_DISTANCE lettere; due parole entro quella distanza hanno sempre una variante
+ * in comune. Una ricerca genera quindi le varianti della parola cercata, le cerca nella
+ * tabella e verifica la distanza solo sui pochi candidati trovati, invece di confrontare
+ * la parola con tutto il dizionario.
+ *
+ * Le varianti sono memorizzate per hash (lo stesso di String.hashCode) in una tabella
+ * a indirizzamento aperto di interi, così non serve creare una stringa per ogni variante;
+ * eventuali collisioni vengono scartate dalla verifica.
+ *
+ * La distanza usata è quella di Damerau-Levenshtein ristretta (optimal string alignment):
+ * inserimenti, cancellazioni, sostituzioni e scambi di lettere adiacenti costano 1,
+ * così "prnedi" dista 1 da "prendi".
+ *
+ * @param <V> tipo del valore associato a ogni parola
+ */
+public class FuzzyIndex<V> {
+
+    /**
+     * Distanza di edit massima supportata dalle varianti precalcolate.
+     */
+    public static final int MAX_DISTANCE = 2;
+
+    /**
+     * Stato delle ricerche di ogni thread.
+     */
+    private static final ThreadLocal<Search> SEARCH = ThreadLocal.withInitial(Search::new);
+
+    /**
+     * Parole presenti e relativi valori.
+     */
+    private final Map<String, V> words = new HashMap<>();
+
+    /**
+     * Tabella delle varianti: per ogni hash di variante, le parole che la producono.
+     * Una cella con parole vuote resta occupata fino al successivo ingrandimento.
+     */
+    private int[] keys = new int[64];
+    private String[][] buckets = new String[64][];
+    private int used = 0;
+
+    /**
+     * Associa un valore a una parola, sostituendo il valore precedente.
+     * @param word parola in minuscolo
+     * @param value valore da associare
+     */
+    public void put(String word, V value) {
+        if (words.put(word, value) != null) {
+            return;
+        }
+        for (int hash : variants(word, MAX_DISTANCE)) {
+            int i = slot(hash);
+            if (buckets[i] == null) {
+                keys[i] = hash;
+                buckets[i] = new String[] {word};
+                if (++used * 2 > keys.length) {
+                    resize();
+                }
+            } else if (!Arrays.asList(buckets[i]).contains(word)) {
+                buckets[i] = Arrays.copyOf(buckets[i], buckets[i].length + 1);
+                buckets[i][buckets[i].length - 1] = word;
+            }
+        }
+    }
+
+    /**
+     * Verifica se una parola è presente.
+     * @param word parola in minuscolo
+     * @return true se la parola è presente
+     */
+    public boolean contains(String word) {
+        return words.containsKey(word);
+    }
+
+    /**
+     * Crea una copia indipendente del dizionario. Le celle della tabella non vengono
+     * mai modificate sul posto (put e remove le sostituiscono), quindi basta copiare
+     * le tabelle e non le parole di ogni cella.
+     * @return la copia
+     */
+    public FuzzyIndex<V> copy() {
+        FuzzyIndex<V> copy = new FuzzyIndex<>();
+        copy.words.putAll(words);
+        copy.keys = keys.clone();
+        copy.buckets = buckets.clone();
+        copy.used = used;
+        return copy;
+    }
+
+    /**
+     * Rimuove una parola.
+     * @param word parola in minuscolo
+     */
+    public void remove(String word) {
+        if (words.remove(word) == null) {
+            return;
+        }
+        for (int hash : variants(word, MAX_DISTANCE)) {
+            int i = slot(hash);
+            if (buckets[i] != null) {
+                buckets[i] = Arrays.stream(buckets[i]).filter(w -> !w.equals(word)).toArray(String[]::new);
+            }
+        }
+    }
+
+    /**
+     * Cerca la parola più vicina entro la distanza massima indicata.
+     * A parità di distanza vale la prima parola trovata.
+     * @param word parola in minuscolo
+     * @param maxDistance distanza di edit massima, al più MAX_DISTANCE
+     * @return il valore della parola più vicina, o null se nessuna è abbastanza vicina
+     */
+    public V find(String word, int maxDistance) {
+        return find(word, maxDistance, null);
+    }
+
+    /**
+     * Cerca la parola più vicina entro la distanza massima indicata, considerando
+     * solo le parole accettate dal filtro. A parità di distanza vale la prima parola trovata.
+     * La ricerca non alloca memoria: le varianti vengono visitate una alla volta
+     * e i buffer sono riutilizzati da ogni thread.
+     * @param word parola in minuscolo
+     * @param maxDistance distanza di edit massima, al più MAX_DISTANCE
+     * @param accept parole candidate ammesse (null per ammetterle tutte)
+     * @return il valore della parola più vicina, o null se nessuna è abbastanza vicina
+     */
+    public V find(String word, int maxDistance, Predicate<String> accept) {
+        V exact = words.get(word);
+        if (exact != null && (accept == null || accept.test(word))) {
+            return exact;
+        }
+        if (maxDistance <= 0) {
+            return null;
+        }
+        maxDistance = Math.min(maxDistance, MAX_DISTANCE);
+
+        Search search = SEARCH.get();
+        search.start(word, maxDistance, accept);
+        try {
+            visit(search, 0, 0, Math.min(maxDistance, word.length()));
+            return search.best != null ? words.get(search.best) : null;
+        } finally {
+            search.accept = null;
+        }
+    }
+
+    /**
+     * Stato di una ricerca, riutilizzato dal thread per non allocare a ogni ricerca.
+     */
+    private static final class Search {
+        private final int[] skipped = new int[MAX_DISTANCE];
+        private int[][] rows = new int[3][16];
+        private String word;
+        private Predicate<String> accept;
+        private String best;
+        private int bestDistance;
+
+        private void start(String word, int maxDistance, Predicate<String> accept) {
+            this.word = word;
+            this.accept = accept;
+            this.best = null;
+            this.bestDistance = maxDistance + 1;
+            if (rows[0].length <= word.length()) {
+                rows = new int[3][word.length() + 1];
+            }
+        }
+    }
+
+    /**
+     * Visita le varianti della parola cercata con le posizioni cancellate in ordine crescente,
+     * verificando i candidati di ciascuna.
+     * @return true se è stata trovata una parola a distanza 1, che non può essere migliorata
+     */
+    private boolean visit(Search search, int depth, int start, int maxDeletes) {
+        if (check(search, hash(search.word, search.skipped, depth))) {
+            return true;
+        }
+        if (depth == maxDeletes) {
+            return false;
+        }
+        for (int p = start; p < search.word.length(); p++) {
+            search.skipped[depth] = p;
+            if (visit(search, depth + 1, p + 1, maxDeletes)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Verifica i candidati di una variante, aggiornando la parola più vicina.
+     * @return true se è stata trovata una parola a distanza 1
+     */
+    private boolean check(Search search, int hash) {
+        String[] candidates = buckets[slot(hash)];
+        if (candidates == null) {
+            return false;
+        }
+        String word = search.word;
+        for (String candidate : candidates) {
+            if (Math.abs(candidate.length() - word.length()) >= search.bestDistance
+                    || candidate.equals(word)
+                    || (search.accept != null && !search.accept.test(candidate))) {
+                continue;
+            }
+            int d = distance(word, candidate, search.bestDistance - 1, search.rows);
+            if (d < search.bestDistance) {
+                search.bestDistance = d;
+                search.best = candidate;
+                if (d == 1) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Distanza tollerata per una parola: un errore ogni quattro lettere, entro il massimo indicato.
+     * Le parole di meno di quattro lettere non vengono corrette, perché un solo errore
+     * basterebbe a trasformarle in un'altra parola valida.
+     * @param word parola da correggere
+     * @param maxDistance distanza massima configurata
+     * @return la distanza da usare nella ricerca
+     */
+    public static int tolerance(String word, int maxDistance) {
+        return Math.min(maxDistance, word.length() / 4);
+    }
+
+    /**
+     * Restituisce il numero di parole presenti.
+     * @return numero di parole
+     */
+    public int size() {
+        return words.size();
+    }
+
+    /**
+     * Cella della tabella per l'hash indicato: quella che lo contiene o la prima libera.
+     */
+    private int slot(int hash) {
+        int mask = keys.length - 1;
+        int i = (hash * 0x9E3779B9) >>> Integer.numberOfLeadingZeros(mask);
+        while (buckets[i] != null && keys[i] != hash) {
+            i = (i + 1) & mask;
+        }
+        return i;
+    }
+
+    /**
+     * Raddoppia la tabella, scartando le celle rimaste senza parole.
+     */
+    private void resize() {
+        int[] oldKeys = keys;
+        String[][] oldBuckets = buckets;
+        keys = new int[oldKeys.length * 2];
+        buckets = new String[oldKeys.length * 2][];
+        used = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldBuckets[i] != null && oldBuckets[i].length > 0) {
+                int j = slot(oldKeys[i]);
+                keys[j] = oldKeys[i];
+                buckets[j] = oldBuckets[i];
+                used++;
+            }
+        }
+    }
+
+    /**
+     * Calcola gli hash delle varianti di una parola con al più maxDeletes lettere cancellate,
+     * compresa la parola stessa.
+     */
+    private static int[] variants(String word, int maxDeletes) {
+        int n = word.length();
+        int count = 1;
+        int combinations = 1;
+        for (int d = 1; d <= maxDeletes && d <= n; d++) {
+            combinations = combinations * (n - d + 1) / d;
+            count += combinations;
+        }
+        int[] hashes = new int[count];
+        int[] skipped = new int[maxDeletes];
+        int[] next = {0};
+        collect(word, skipped, 0, 0, Math.min(maxDeletes, n), hashes, next);
+        return hashes;
+    }
+
+    /**
+     * Visita le combinazioni di posizioni cancellate in ordine crescente,
+     * registrando l'hash di ciascuna variante.
+     */
+    private static void collect(String word, int[] skipped, int depth, int start, int maxDeletes,
+            int[] hashes, int[] next) {
+        hashes[next[0]++] = hash(word, skipped, depth);
+        if (depth == maxDeletes) {
+            return;
+        }
+        for (int p = start; p < word.length(); p++) {
+            skipped[depth] = p;
+            collect(word, skipped, depth + 1, p + 1, maxDeletes, hashes, next);
+        }
+    }
+
+    /**
+     * Hash della parola senza le lettere nelle posizioni indicate (in ordine crescente).
+     */
+    private static int hash(String word, int[] skipped, int count) {
+        int hash = 0;
+        int s = 0;
+        for (int i = 0; i < word.length(); i++) {
+            if (s < count && skipped[s] == i) {
+                s++;
+                continue;
+            }
+            hash = 31 * hash + word.charAt(i);
+        }
+        return hash;
+    }
+
+    /**
+     * Distanza optimal string alignment tra due parole, calcolata su tre righe
+     * riutilizzate e indicizzate sulla prima parola.
+     * Vengono calcolate solo le celle entro limit dalla diagonale, le uniche che possono
+     * portare a una distanza non superiore al limite, e il calcolo si interrompe
+     * appena due righe consecutive superano il limite.
+     * @return la distanza, o limit + 1 se la supera
+     */
+    private static int distance(String a, String b, int limit, int[][] rows) {
+        int n = a.length();
+        int m = b.length();
+        if (Math.abs(n - m) > limit) {
+            return limit + 1;
+        }
+        int outside = limit + 1;
+        int[] previous2 = rows[0];
+        int[] previous = rows[1];
+        int[] current = rows[2];
+        for (int i = 0; i <= Math.min(n, limit); i++) {
+            previous[i] = i;
+        }
+        if (limit < n) {
+            previous[limit + 1] = outside;
+        }
+        int previousMin = 0;
+
+        for (int j = 1; j <= m; j++) {
+            char cb = b.charAt(j - 1);
+            int from = Math.max(1, j - limit);
+            int to = Math.min(n, j + limit);
+            current[from - 1] = from == 1 ? j : outside;
+            int rowMin = current[from - 1];
+            for (int i = from; i <= to; i++) {
+                char ca = a.charAt(i - 1);
+                int cost = ca == cb ? 0 : 1;
+                int value = Math.min(Math.min(current[i - 1] + 1, previous[i] + 1), previous[i - 1] + cost);
+                if (i > 1 && j > 1 && ca == b.charAt(j - 2) && a.charAt(i - 2) == cb) {
+                    value = Math.min(value, previous2[i - 2] + 1);
+                }
+                current[i] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (to < n) {
+                current[to + 1] = outside;
+            }
+            if (rowMin > limit && previousMin > limit) {
+                return outside;
+            }
+            previousMin = rowMin;
+
+            int[] swap = previous2;
+            previous2 = previous;
+            previous = current;
+            current = swap;
+        }
+        return Math.min(previous[n], outside);
+    }
+}
@@ -16,9 +16,10 @@ import it.uniba.lacasadicenere.model.Room;
 import it.uniba.lacasadicenere.controller.GameController;
 
 import java.io.FileNotFoundException;
-import java.io.FileReader;
 import java.io.IOException;
+import java.io.StringReader;
 import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -29,6 +30,13 @@ import java.util.stream.Collectors;
  * Classe per la conversione tra JSON e classi Java.
  */
 public class GameSerializer {
+
+    /**
+     * Istanza di Gson condivisa, con il deserializzatore degli oggetti (Gson è thread-safe).
+     */
+    private static final Gson GSON = new GsonBuilder()
+            .registerTypeAdapter(Item.class, new ItemDeserializer())
+            .create();
     
     /**
      * Metodo per convertire i file JSON in classi Java.
@@ -77,12 +85,7 @@ public class GameSerializer {
      * @return Map<String, Item>
      */
     private Map<String, Item> processJsonFiles(String gameFilePath, String itemsFilePath) {
-        Gson gson = new GsonBuilder()
-                .registerTypeAdapter(Item.class, new ItemDeserializer())
-                .create();
-
-        Map<String, Item> items = new HashMap<>();
-        Map<String, Room> rooms = new HashMap<>();
+        Map<String, Item> items;
 
         try {
             Path gamePath = Paths.get(gameFilePath);
@@ -90,47 +93,11 @@ public class GameSerializer {
                 return new HashMap<>(); 
             }
             
-            byte[] fileBytes = Files.readAllBytes(Paths.get(gameFilePath));
+            byte[] fileBytes = Files.readAllBytes(gamePath);
             if (fileBytes.length == 0) return new HashMap<>();
 
-            JsonReader reader = new JsonReader(new FileReader(gameFilePath));
-            Game game = gson.fromJson(reader, Game.class);
-            if(game == null) return null;
-
-            Game.setUpGame(game);
-
-            if(game.getInventory() != null) {
-                game.getInventory().forEach(item -> items.put(item.getName(), item));
-            }
-
-            if(game.getCorridorMap() != null) {
-                game.getCorridorMap().forEach(corridor -> {
-                    Room start = corridor.getStartingRoom();
-                    Room end = corridor.getArrivingRoom();
-
-                    if(!rooms.containsKey(start.getName())) {
-                        rooms.put(start.getName(), start);
-                        if(start.getItems() != null) {
-                            start.getItems().forEach(item -> items.put(item.getName(), item));
-                        }
-                    } else {
-                        corridor.setStartingRoom(rooms.get(start.getName()));
-                    }
-                    
-                    if(!rooms.containsKey(end.getName())) {
-                        rooms.put(end.getName(), end);
-                        if(end.getItems() != null) {
-                            end.getItems().forEach(item -> items.put(item.getName(), item));
-                        }
-                    } else {
-                        corridor.setArrivingRoom(rooms.get(end.getName()));
-                    }
-                });
-            }
-
-            if(game.getCurrentRoom() != null) {
-                game.setCurrentRoom(rooms.get(game.getCurrentRoom().getName()));
-            }
+            items = readGame(new JsonReader(new StringReader(new String(fileBytes, StandardCharsets.UTF_8))));
+            if(items == null) return null;
 
         } catch (IOException e) {
             throw new RuntimeException(e);
@@ -142,20 +109,11 @@ public class GameSerializer {
                 return items; 
             }
             
-            byte[] fileBytes = Files.readAllBytes(Paths.get(itemsFilePath));
+            byte[] fileBytes = Files.readAllBytes(itemsPath);
             if(fileBytes.length == 0) {
                 return items; 
             }
-            try (JsonReader reader = new JsonReader(new FileReader(itemsFilePath))) {
-                Type itemListType = new TypeToken<List<Item>>(){}.getType();
-                List<Item> itemList = gson.fromJson(reader, itemListType);
-    
-                if (itemList != null) {
-                    for (Item item : itemList) {
-                        items.put(item.getName(), item);
-                    }
-                }
-            }
+            readItems(new JsonReader(new StringReader(new String(fileBytes, StandardCharsets.UTF_8))), items);
         } catch (FileNotFoundException e) {
             e.printStackTrace();
         } catch (IOException e) {
@@ -165,13 +123,95 @@ public class GameSerializer {
         return items;
     }
 
+    /**
+     * Metodo per caricare lo stato di gioco da due stringhe JSON, nello stesso
+     * formato dei file di salvataggio. La partita diventa quella della sessione corrente.
+     * @param gameJson stato del gioco
+     * @param itemsJson oggetti fuori da stanze e inventario (può essere null)
+     * @return Map<String, Item>, o null se lo stato del gioco è vuoto
+     */
+    public Map<String, Item> loadGameFromJson(String gameJson, String itemsJson) {
+        if (gameJson == null || gameJson.isBlank()) {
+            return null;
+        }
+        Map<String, Item> items = readGame(new JsonReader(new StringReader(gameJson)));
+        if (items != null && itemsJson != null && !itemsJson.isBlank()) {
+            readItems(new JsonReader(new StringReader(itemsJson)), items);
+        }
+        return items;
+    }
+
+    /**
+     * Legge lo stato del gioco, lo imposta come partita corrente e ricollega le stanze
+     * dei corridoi, così ogni stanza è un'unica istanza.
+     * @param reader
+     * @return gli oggetti presenti in inventario e nelle stanze, o null se il JSON è vuoto
+     */
+    private Map<String, Item> readGame(JsonReader reader) {
+        Map<String, Item> items = new HashMap<>();
+        Map<String, Room> rooms = new HashMap<>();
+
+        Game game = GSON.fromJson(reader, Game.class);
+        if(game == null) return null;
+
+        Game.setUpGame(game);
+
+        if(game.getInventory() != null) {
+            game.getInventory().forEach(item -> items.put(item.getName(), item));
+        }
+
+        if(game.getCorridorMap() != null) {
+            game.getCorridorMap().forEach(corridor -> {
+                Room start = corridor.getStartingRoom();
+                Room end = corridor.getArrivingRoom();
+
+                if(!rooms.containsKey(start.getName())) {
+                    rooms.put(start.getName(), start);
+                    if(start.getItems() != null) {
+                        start.getItems().forEach(item -> items.put(item.getName(), item));
+                    }
+                } else {
+                    corridor.setStartingRoom(rooms.get(start.getName()));
+                }
+                
+                if(!rooms.containsKey(end.getName())) {
+                    rooms.put(end.getName(), end);
+                    if(end.getItems() != null) {
+                        end.getItems().forEach(item -> items.put(item.getName(), item));
+                    }
+                } else {
+                    corridor.setArrivingRoom(rooms.get(end.getName()));
+                }
+            });
+        }
+
+        if(game.getCurrentRoom() != null) {
+            game.setCurrentRoom(rooms.get(game.getCurrentRoom().getName()));
+        }
+        return items;
+    }
+
+    /**
+     * Legge una lista di oggetti e la aggiunge alla mappa indicata.
+     * @param reader
+     * @param items
+     */
+    private void readItems(JsonReader reader, Map<String, Item> items) {
+        Type itemListType = new TypeToken<List<Item>>(){}.getType();
+        List<Item> itemList = GSON.fromJson(reader, itemListType);
+
+        if (itemList != null) {
+            for (Item item : itemList) {
+                items.put(item.getName(), item);
+            }
+        }
+    }
+
     /**
      * Metodo per salvare lo stato di gioco in un file JSON.
      */
     public void convertGameToJson() {
-        Gson gson = new Gson();
-        Game game = Game.getInstance();
-        String json = gson.toJson(game);
+        String json = gameToJson();
 
         try {
             Files.write(Paths.get("src", "main", "resources", "LoadedGame.json"), json.getBytes());
@@ -184,7 +224,28 @@ public class GameSerializer {
      * Metodo per salvare gli oggetti di gioco in un file JSON.
      */
     public void convertItemsToJson() {
-        Gson gson = new Gson();
+        String json = itemsToJson();
+        try {
+            Files.write(Paths.get("src", "main", "resources", "LoadedItems.json"), json.getBytes());
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Restituisce lo stato di gioco della sessione corrente in formato JSON.
+     * @return JSON della partita
+     */
+    public String gameToJson() {
+        return GSON.toJson(Game.getInstance());
+    }
+
+    /**
+     * Restituisce in formato JSON gli oggetti della sessione corrente che non si trovano
+     * né nell'inventario né nelle stanze.
+     * @return JSON degli oggetti
+     */
+    public String itemsToJson() {
         Game game = Game.getInstance();
         GameController gameManager = new GameController();
         Set<Item> items = gameManager.getItems();
@@ -199,11 +260,6 @@ public class GameSerializer {
                         .noneMatch(room -> room.getItems().contains(item)))
                     .collect(Collectors.toSet());
         
-        String json = gson.toJson(itemsToSave);
-        try {
-            Files.write(Paths.get("src", "main", "resources", "LoadedItems.json"), json.getBytes());
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        }
+        return GSON.toJson(itemsToSave);
     }
 }
\ No newline at end of file
@@ -0,0 +1,146 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+
+package it.uniba.lacasadicenere.util;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache delle immagini del gioco.
+ * Ogni immagine viene decodificata una sola volta e convertita nel formato dello schermo
+ * (GraphicsConfiguration), così disegnarla non richiede conversioni di pixel.
+ * Per ogni immagine viene conservata anche una copia già scalata alla dimensione del pannello
+ * che la mostra, ricalcolata solo quando la dimensione cambia: un repaint diventa una copia diretta.
+ */
+public final class ImageCache {
+
+    private record ScaledImage(int width, int height, BufferedImage image) {
+    }
+
+    /**
+     * Immagini decodificate, alla dimensione originale.
+     */
+    private static final Map<String, BufferedImage> originals = new ConcurrentHashMap<>();
+
+    /**
+     * Ultima copia scalata di ogni immagine.
+     */
+    private static final Map<String, ScaledImage> scaled = new ConcurrentHashMap<>();
+
+    /**
+     * Percorsi che non è stato possibile caricare, per non riprovare a ogni repaint.
+     */
+    private static final Set<String> missing = ConcurrentHashMap.newKeySet();
+
+    private ImageCache() {
+    }
+
+    /**
+     * Restituisce l'immagine decodificata, caricandola alla prima richiesta.
+     * Il percorso viene cercato prima sul file system e poi nel classpath.
+     * @param path percorso dell'immagine (es. "src/main/resources/img/Stanza1.png")
+     * @return l'immagine, o null se non esiste o non è leggibile
+     */
+    public static BufferedImage get(String path) {
+        BufferedImage image = originals.get(path);
+        if (image != null || missing.contains(path)) {
+            return image;
+        }
+        image = load(path);
+        if (image == null) {
+            missing.add(path);
+            return null;
+        }
+        BufferedImage previous = originals.putIfAbsent(path, image);
+        return previous != null ? previous : image;
+    }
+
+    /**
+     * Restituisce l'immagine scalata alla dimensione indicata.
+     * La copia scalata viene ricalcolata solo se la dimensione è diversa dalla precedente.
+     * @param path percorso dell'immagine
+     * @param width larghezza in pixel
+     * @param height altezza in pixel
+     * @return l'immagine scalata, o null se l'immagine non esiste o la dimensione non è valida
+     */
+    public static BufferedImage getScaled(String path, int width, int height) {
+        if (width <= 0 || height <= 0) {
+            return null;
+        }
+        ScaledImage current = scaled.get(path);
+        if (current != null && current.width() == width && current.height() == height) {
+            return current.image();
+        }
+        BufferedImage original = get(path);
+        if (original == null) {
+            return null;
+        }
+        BufferedImage image = createImage(width, height, original.getTransparency());
+        Graphics2D g = image.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g.drawImage(original, 0, 0, width, height, null);
+        g.dispose();
+        scaled.put(path, new ScaledImage(width, height, image));
+        return image;
+    }
+
+    /**
+     * Decodifica l'immagine e la copia in un'immagine compatibile con lo schermo.
+     */
+    private static BufferedImage load(String path) {
+        try {
+            BufferedImage decoded;
+            File file = new File(path);
+            if (file.exists()) {
+                decoded = ImageIO.read(file);
+            } else {
+                String resource = path.startsWith("src/main/resources") ? path.substring("src/main/resources".length()) : path;
+                try (InputStream in = ImageCache.class.getResourceAsStream(resource.startsWith("/") ? resource : "/" + resource)) {
+                    decoded = in != null ? ImageIO.read(in) : null;
+                }
+            }
+            if (decoded == null) {
+                System.err.println("Immagine non trovata: " + path);
+                return null;
+            }
+
+            BufferedImage image = createImage(decoded.getWidth(), decoded.getHeight(), decoded.getTransparency());
+            Graphics2D g = image.createGraphics();
+            g.drawImage(decoded, 0, 0, null);
+            g.dispose();
+            return image;
+        } catch (IOException e) {
+            System.err.println("Errore nel caricamento dell'immagine: " + path);
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * Crea un'immagine nel formato dello schermo, o in formato ARGB se non c'è uno schermo.
+     */
+    private static BufferedImage createImage(int width, int height, int transparency) {
+        if (GraphicsEnvironment.isHeadless()) {
+            return new BufferedImage(width, height, transparency == Transparency.OPAQUE
+                    ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+        }
+        GraphicsConfiguration config = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                .getDefaultScreenDevice().getDefaultConfiguration();
+        return config.createCompatibleImage(width, height, transparency);
+    }
+}
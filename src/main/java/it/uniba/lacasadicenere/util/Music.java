@@ -7,41 +7,63 @@ package it.uniba.lacasadicenere.util;
 
 import javax.sound.sampled.*;
 import java.io.BufferedInputStream;
+import java.io.IOException;
 import java.io.InputStream;
 
 /**
  * Classe che gestisce la riproduzione della musica di sottofondo del gioco.
  * Usa il pattern Singleton per garantire una sola istanza.
+ * La musica non viene caricata tutta in memoria: un thread a bassa priorità legge il file
+ * a blocchi e li scrive in una SourceDataLine, il cui buffer circolare contiene solo
+ * una frazione di secondo di audio. Alla fine del file lo stream viene riaperto e la
+ * scrittura prosegue nello stesso buffer, così il loop non ha pause.
  */
 public class Music {
 
     private static Music instance;
 
-    private Clip clip;
+    private SourceDataLine line;
 
-    private boolean isPlaying = false;
+    private AudioFormat format;
+
+    private Thread player;
+
+    private volatile boolean isPlaying = false;
 
     private static final String MUSIC_FILE_PATH = "/audio/music.wav";
 
+    /**
+     * Durata dell'audio contenuto nel buffer della linea, in millisecondi.
+     */
+    private static final int BUFFER_MILLIS = 500;
+
+    /**
+     * Dimensione di un blocco letto dal file e scritto nella linea, in byte.
+     */
+    private static final int CHUNK_SIZE = 8 * 1024;
+
     private Music() {
         loadMusic();
     }
 
+    /**
+     * Legge il formato della musica e apre la linea audio. Il contenuto del file
+     * viene letto solo durante la riproduzione.
+     */
     private void loadMusic() {
-        try {
-            InputStream audioSrc = getClass().getResourceAsStream(MUSIC_FILE_PATH);
-            
-            if(audioSrc == null) {
+        try (AudioInputStream audioStream = openStream()) {
+            if(audioStream == null) {
                 System.err.println("File audio non trovato: " + MUSIC_FILE_PATH);
                 return;
             }
 
-            BufferedInputStream bufferedIn = new BufferedInputStream(audioSrc);
-            AudioInputStream audioStream = AudioSystem.getAudioInputStream(bufferedIn);
+            format = audioStream.getFormat();
+            int frameSize = format.getFrameSize();
+            int bufferSize = (int) (format.getFrameRate() * BUFFER_MILLIS / 1000) * frameSize;
+
+            line = AudioSystem.getSourceDataLine(format);
+            line.open(format, bufferSize);
 
-            clip = AudioSystem.getClip();
-            clip.open(audioStream);
-            
         } catch (UnsupportedAudioFileException e) {
             System.err.println("Formato audio non supportato!");
             e.printStackTrace();
@@ -54,11 +76,34 @@ public class Music {
         }
     }
 
+    /**
+     * Apre il file audio, convertendolo in PCM se è in un formato compresso.
+     * @return lo stream audio, o null se il file non esiste
+     */
+    private AudioInputStream openStream() throws UnsupportedAudioFileException, IOException {
+        InputStream audioSrc = getClass().getResourceAsStream(MUSIC_FILE_PATH);
+        if(audioSrc == null) {
+            return null;
+        }
+
+        AudioInputStream audioStream = AudioSystem.getAudioInputStream(new BufferedInputStream(audioSrc));
+        AudioFormat source = audioStream.getFormat();
+        if(source.getEncoding() == AudioFormat.Encoding.PCM_SIGNED
+                || source.getEncoding() == AudioFormat.Encoding.PCM_UNSIGNED) {
+            return audioStream;
+        }
+
+        AudioFormat pcm = new AudioFormat(AudioFormat.Encoding.PCM_SIGNED, source.getSampleRate(), 16,
+                source.getChannels(), source.getChannels() * 2, source.getSampleRate(), false);
+        return AudioSystem.getAudioInputStream(pcm, audioStream);
+    }
+
     /**
      * Restituisce l'istanza singleton di Music.
+     * Può essere chiamato da più thread (es. dal caricamento delle risorse in background).
      * @return istanza di Music
      */
-    public static Music getInstance() {
+    public static synchronized Music getInstance() {
         if(instance == null) {
             instance = new Music();
         }
@@ -68,36 +113,95 @@ public class Music {
     /**
      * Avvia la riproduzione della musica in loop.
      */
-    public void startMusic() {
-        if(clip == null) {
+    public synchronized void startMusic() {
+        if(line == null) {
             return;
         }
-        
+
         if(isPlaying) {
             return;
         }
-        
+
+        isPlaying = true;
+        line.start();
+        player = new Thread(this::play, "music-player");
+        player.setDaemon(true);
+        player.setPriority(Thread.MIN_PRIORITY);
+        player.start();
+    }
+
+    /**
+     * Ciclo di riproduzione: legge il file a blocchi e li scrive nella linea.
+     * La scrittura si blocca quando il buffer della linea è pieno, quindi in memoria
+     * restano solo il blocco corrente e il buffer della linea.
+     */
+    private void play() {
+        // Un blocco deve entrare nel buffer della linea anche dopo uno stop, così write non resta bloccato
+        int frameSize = format.getFrameSize();
+        int size = Math.min(CHUNK_SIZE, line.getBufferSize() / 2);
+        byte[] chunk = new byte[Math.max(frameSize, size - size % frameSize)];
+        AudioInputStream audioStream = null;
+        boolean empty = true;
         try {
-            clip.setFramePosition(0);
-            clip.loop(Clip.LOOP_CONTINUOUSLY);
-            clip.start();
-            isPlaying = true;
+            while(isPlaying) {
+                if(audioStream == null) {
+                    audioStream = openStream();
+                    empty = true;
+                    if(audioStream == null) {
+                        System.err.println("File audio non trovato: " + MUSIC_FILE_PATH);
+                        break;
+                    }
+                }
+
+                int read = audioStream.read(chunk, 0, chunk.length);
+                if(read < 0) {
+                    if(empty) {
+                        System.err.println("File audio vuoto: " + MUSIC_FILE_PATH);
+                        break;
+                    }
+                    // Fine del file: si riparte dall'inizio senza svuotare la linea
+                    audioStream.close();
+                    audioStream = null;
+                    continue;
+                }
+                if(read > 0) {
+                    empty = false;
+                    line.write(chunk, 0, read);
+                }
+            }
         } catch (Exception e) {
+            System.err.println("Errore nella riproduzione della musica:");
             e.printStackTrace();
+        } finally {
+            if(audioStream != null) {
+                try {
+                    audioStream.close();
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            }
         }
     }
 
     /**
      * Ferma la riproduzione della musica.
      */
-    public void stopMusic() {
-        if(clip != null && isPlaying) {
-            clip.stop();
-            clip.setFramePosition(0);
+    public synchronized void stopMusic() {
+        if(line != null && isPlaying) {
             isPlaying = false;
+            line.stop();
+            // Svuota la linea: sblocca il thread se è fermo su write
+            line.flush();
+            try {
+                player.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            line.flush();
+            player = null;
         }
     }
-    
+
     /**
      * Verifica se la musica è in riproduzione.
      * @return true se la musica è in riproduzione, false altrimenti
@@ -105,4 +209,4 @@ public class Music {
     public boolean isPlaying() {
         return isPlaying;
     }
-}
\ No newline at end of file
+}
@@ -7,105 +7,182 @@ package it.uniba.lacasadicenere.util;
 
 import it.uniba.lacasadicenere.service.OutputService;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
 /**
- * Classe Thread per gestire effetti di testo sulla GUI (scrittura lenta e pause).
+ * Gestisce gli effetti di testo sulla GUI (scrittura lenta e pause).
+ * Gli effetti vengono accodati e riprodotti in ordine da un unico scheduler condiviso:
+ * a ogni tick viene scritto in un solo blocco tutto il testo maturato dal tick precedente.
+ * Quando la coda è vuota lo scheduler si ferma, e ogni effetto restituisce un
+ * CompletableFuture che si completa quando l'effetto è terminato.
  */
-public class TextAnimator extends Thread {
+public final class TextAnimator {
+
+    /**
+     * Intervallo tra due tick, circa un fotogramma a 60 Hz.
+     */
+    private static final long TICK_MILLIS = 16;
+
+    private static final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "text-animator");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Effetti in attesa o in corso, nell'ordine in cui sono stati richiesti.
+     */
+    private static final Deque<Effetto> effetti = new ArrayDeque<>();
 
-    private static boolean isWriting = false;
-    
     /**
-     * Tipi di effetti di testo supportati.
+     * Tick periodico attivo, o null se la coda è vuota.
      */
-    public enum TipoEffetto {
-        SCRITTURA,
-        PAUSA
+    private static ScheduledFuture<?> ticker;
+
+    /**
+     * Un effetto in coda: testo da scrivere con la sua velocità, oppure una pausa.
+     */
+    private static final class Effetto {
+        private final String testo;
+        private final int velocita; // Velocità in ms tra i caratteri; 0 scrive tutto subito
+        private final long durata;  // Durata della pausa in ms (usato solo se testo è null)
+        private final CompletableFuture<Void> fine = new CompletableFuture<>();
+        private long inizio = -1;
+        private int scritti = 0;
+
+        private Effetto(String testo, int velocita, long durata) {
+            this.testo = testo;
+            this.velocita = velocita;
+            this.durata = durata;
+        }
     }
 
-    private final String testo;
-    private final TipoEffetto tipo;
-    private final int velocita; // Velocità in ms tra i caratteri o durata lampeggio
-    private final int durata;   // Durata della pausa in ms (usato solo per PAUSA)
+    private TextAnimator() {
+    }
 
     /**
-     * Costruttore per l'effetto di scrittura lenta.
+     * Accoda la scrittura lenta di un testo.
      * @param testo Il testo da scrivere.
-     * @param velocita La pausa in millisecondi tra i caratteri.
+     * @param velocita La pausa in millisecondi tra i caratteri; 0 scrive il testo al tick successivo.
+     * @return un future completato quando l'ultimo carattere è stato scritto
      */
-    public TextAnimator(String testo, int velocita) {
-        this.testo = testo;
-        this.tipo = TipoEffetto.SCRITTURA;
-        this.velocita = velocita;
-        this.durata = 0; // Non usato
+    public static CompletableFuture<Void> write(String testo, int velocita) {
+        return accoda(new Effetto(testo, velocita, 0));
     }
-    
+
     /**
-     * Costruttore per l'effetto di pausa.
+     * Accoda una pausa: gli effetti successivi iniziano solo al suo termine.
      * @param durata La durata della pausa in millisecondi.
+     * @return un future completato al termine della pausa
      */
-    public TextAnimator(int durata) {
-        this.testo = ""; 
-        this.tipo = TipoEffetto.PAUSA;
-        this.velocita = 0;
-        this.durata = durata;
+    public static CompletableFuture<Void> pause(int durata) {
+        return accoda(new Effetto(null, 0, durata));
     }
 
-    /**
-     * Verifica se l'effetto di scrittura è in corso.
-     * @return
-     */
-    public static synchronized boolean isWriting() {
-        return isWriting;
+    private static synchronized CompletableFuture<Void> accoda(Effetto effetto) {
+        effetti.add(effetto);
+        if (ticker == null) {
+            ticker = scheduler.scheduleAtFixedRate(TextAnimator::tick, 0, TICK_MILLIS, TimeUnit.MILLISECONDS);
+        }
+        return effetto.fine;
     }
 
     /**
-     * Esecuzione dell'effetto in base al tipo specificato.
+     * Scrive il testo maturato da tutti gli effetti in corso e completa quelli terminati.
+     * Un effetto che termina lascia subito il posto al successivo, nello stesso tick.
      */
-    @Override
-    public void run() {
-        if(tipo == TipoEffetto.SCRITTURA) {
-            synchronized(TextAnimator.class) {
-                isWriting = true;
+    private static void tick() {
+        StringBuilder blocco = new StringBuilder();
+        List<CompletableFuture<Void>> terminati = new ArrayList<>();
+        long adesso = System.nanoTime();
+
+        synchronized (TextAnimator.class) {
+            while (!effetti.isEmpty()) {
+                Effetto effetto = effetti.peek();
+                if (effetto.inizio < 0) {
+                    effetto.inizio = adesso;
+                }
+                long trascorsi = TimeUnit.NANOSECONDS.toMillis(adesso - effetto.inizio);
+
+                if (effetto.testo != null) {
+                    int lunghezza = effetto.testo.length();
+                    int dovuti = effetto.velocita <= 0
+                            ? lunghezza
+                            : (int) Math.min(lunghezza, trascorsi / effetto.velocita + 1);
+                    blocco.append(effetto.testo, effetto.scritti, dovuti);
+                    effetto.scritti = dovuti;
+                    if (dovuti < lunghezza) {
+                        break;
+                    }
+                } else if (trascorsi < effetto.durata) {
+                    break;
+                }
+                effetti.poll();
+                terminati.add(effetto.fine);
             }
+            if (effetti.isEmpty() && ticker != null) {
+                ticker.cancel(false);
+                ticker = null;
+            }
+            scrivi(blocco);
         }
+        completa(terminati);
+    }
 
-        try {
-            switch(tipo) {
-                case SCRITTURA -> effettoScritturaGUI();
-                case PAUSA -> effettoPausa();
-            }
-        } finally {
-            if(tipo == TipoEffetto.SCRITTURA) {
-                synchronized(TextAnimator.class) {
-                    isWriting = false;
+    /**
+     * Completa subito tutti gli effetti in coda: il testo rimanente viene scritto
+     * in un solo blocco e le pause vengono saltate.
+     */
+    public static void skip() {
+        StringBuilder blocco = new StringBuilder();
+        List<CompletableFuture<Void>> terminati = new ArrayList<>();
+
+        synchronized (TextAnimator.class) {
+            for (Effetto effetto : effetti) {
+                if (effetto.testo != null) {
+                    blocco.append(effetto.testo, effetto.scritti, effetto.testo.length());
                 }
+                terminati.add(effetto.fine);
+            }
+            effetti.clear();
+            if (ticker != null) {
+                ticker.cancel(false);
+                ticker = null;
             }
+            scrivi(blocco);
         }
+        completa(terminati);
     }
 
     /**
-     * Implementazione dell'effetto di scrittura carattere per carattere sulla GUI.
+     * Scrive il blocco di testo. Chiamato dentro il lock, così i blocchi
+     * di tick e skip concorrenti non si scambiano di posto.
      */
-    private void effettoScritturaGUI() {
-        for (char c : testo.toCharArray()) {
-            OutputService.appendChar(String.valueOf(c));
-            try {
-                Thread.sleep(velocita);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                return;
+    private static void scrivi(StringBuilder blocco) {
+        try {
+            if (blocco.length() > 0) {
+                OutputService.appendText(blocco.toString());
             }
+        } catch (RuntimeException e) {
+            e.printStackTrace();
         }
     }
 
     /**
-     * Implementazione dell'effetto di pausa (Thread.sleep).
+     * Completa gli effetti terminati, fuori dal lock: le azioni collegate ai future
+     * possono così accodare nuovi effetti.
      */
-    private void effettoPausa() {
-        try {
-            Thread.sleep(durata);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+    private static void completa(List<CompletableFuture<Void>> terminati) {
+        for (CompletableFuture<Void> fine : terminati) {
+            fine.complete(null);
         }
     }
-}
\ No newline at end of file
+}
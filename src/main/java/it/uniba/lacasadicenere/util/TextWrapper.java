@@ -0,0 +1,112 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+
+package it.uniba.lacasadicenere.util;
+
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Classe che va a capo nel testo in base alla larghezza disponibile (word wrapping).
+ * I testi già formattati vengono conservati in una cache LRU indicizzata per testo,
+ * larghezza e font: le descrizioni provengono da una tabella fissa, quindi rivedere
+ * la stessa stanza o lo stesso oggetto non richiede di misurare di nuovo il testo.
+ */
+public final class TextWrapper {
+
+    /**
+     * Numero massimo di testi formattati conservati.
+     */
+    private static final int CACHE_SIZE = 256;
+
+    private record WrapKey(String text, int maxWidth, Font font) {
+    }
+
+    private static final Map<WrapKey, String> cache = new LinkedHashMap<>(CACHE_SIZE, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<WrapKey, String> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    private TextWrapper() {
+    }
+
+    /**
+     * Restituisce il testo con gli a capo necessari a non superare la larghezza indicata,
+     * usando la cache se il testo è già stato formattato con la stessa larghezza e lo stesso font.
+     * @param text testo da formattare
+     * @param fontMetrics metriche del font usato per la visualizzazione
+     * @param maxWidth larghezza massima di una riga in pixel
+     * @return il testo formattato
+     */
+    public static String wrap(String text, FontMetrics fontMetrics, int maxWidth) {
+        WrapKey key = new WrapKey(text, maxWidth, fontMetrics.getFont());
+        synchronized (cache) {
+            String cached = cache.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        String wrapped = wrapUncached(text, fontMetrics, maxWidth);
+        synchronized (cache) {
+            cache.put(key, wrapped);
+        }
+        return wrapped;
+    }
+
+    /**
+     * Formatta il testo senza usare la cache. Divide il testo per parole, non per
+     * caratteri singoli; la larghezza della riga viene aggiornata sommando la larghezza
+     * di ogni parola e dello spazio, quindi ogni parola viene misurata una sola volta.
+     * @param text testo da formattare
+     * @param fontMetrics metriche del font usato per la visualizzazione
+     * @param maxWidth larghezza massima di una riga in pixel
+     * @return il testo formattato
+     */
+    public static String wrapUncached(String text, FontMetrics fontMetrics, int maxWidth) {
+        int spaceWidth = fontMetrics.charWidth(' ');
+        StringBuilder result = new StringBuilder(text.length() + 16);
+        String[] paragraphs = text.split("\n");
+
+        for (int p = 0; p < paragraphs.length; p++) {
+            String paragraph = paragraphs[p];
+
+            if (paragraph.trim().isEmpty()) {
+                result.append("\n");
+                continue;
+            }
+
+            int lineWidth = 0;
+            boolean lineEmpty = true;
+            for (String word : paragraph.split("\\s+")) {
+                if (word.isEmpty()) {
+                    continue;
+                }
+                int wordWidth = fontMetrics.stringWidth(word);
+                if (!lineEmpty && lineWidth + spaceWidth + wordWidth > maxWidth) {
+                    result.append("\n");
+                    lineWidth = 0;
+                    lineEmpty = true;
+                }
+                if (!lineEmpty) {
+                    result.append(' ');
+                    lineWidth += spaceWidth;
+                }
+                result.append(word);
+                lineWidth += wordWidth;
+                lineEmpty = false;
+            }
+
+            if (p < paragraphs.length - 1) {
+                result.append("\n");
+            }
+        }
+
+        return result.toString();
+    }
+}
@@ -1,6 +1,7 @@
 package it.uniba.lacasadicenere.view;
 
 import it.uniba.lacasadicenere.service.GameFlowController;
+import it.uniba.lacasadicenere.service.OutputService;
 import it.uniba.lacasadicenere.controller.GameController;
 import it.uniba.lacasadicenere.util.Music;
 
@@ -8,6 +9,8 @@ import javax.swing.*;
 import javax.swing.plaf.metal.MetalButtonUI;
 import javax.swing.text.DefaultCaret;
 import java.awt.event.ActionEvent;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
 import java.io.IOException;
 import java.awt.Dimension;
 import java.awt.FontMetrics;
@@ -15,7 +18,6 @@ import java.awt.Font;
 import java.awt.CardLayout;
 import java.awt.Color;
 import java.awt.Insets;
-import java.awt.Graphics;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -46,6 +48,16 @@ public class GamePanel extends JPanel {
     // Layout per il pannello delle immagini
     private static CardLayout cardLayout;
 
+    // Intervallo minimo tra due inserimenti nel displayTextPane (circa un fotogramma)
+    private static final int FLUSH_DELAY = 16;
+
+    // Testo in attesa di essere inserito nel displayTextPane
+    private static final StringBuilder pendingText = new StringBuilder();
+    private static final Timer flushTimer = new Timer(FLUSH_DELAY, _e -> flushPendingText());
+    static {
+        flushTimer.setRepeats(false);
+    }
+
     public GamePanel() {
         UIManager.put("ScrollBar.width", 12);
         SwingUtilities.updateComponentTreeUI(this);
@@ -69,14 +81,7 @@ public class GamePanel extends JPanel {
         for(int i = 1; i <= 6; i++) {
             final int roomNumber = i;
             final String imagePath = "src/main/resources/img/Stanza" + roomNumber + ".png";
-            imagePanel.add(new JPanel() {
-                @Override
-                protected void paintComponent(Graphics g) {
-                    super.paintComponent(g);
-                    ImageIcon image = new ImageIcon(imagePath);
-                    g.drawImage(image.getImage(), 0, 0, getWidth(), getHeight(), this);
-                }
-            }, "Stanza" + roomNumber);
+            imagePanel.add(new ImagePanel(imagePath), "Stanza" + roomNumber);
         }
     }
 
@@ -200,6 +205,12 @@ public class GamePanel extends JPanel {
         userInputField.setCaretColor(COLD_LIGHT);
         userInputField.setBorder(BorderFactory.createMatteBorder(0, 5, 5, 0, COLD_LIGHT));
         userInputField.addActionListener(this::userInputFieldActionPerformed);
+        userInputField.addKeyListener(new KeyAdapter() {
+            @Override
+            public void keyPressed(KeyEvent e) {
+                OutputService.skipAnimation();
+            }
+        });
         
         GameFlowController.startInputListener();
 
@@ -335,9 +346,13 @@ public class GamePanel extends JPanel {
         
         CardLayout cl = (CardLayout) getParent().getLayout();
         cl.show(getParent(), "MenuPanel");
+        synchronized (pendingText) {
+            pendingText.setLength(0);
+        }
         displayTextPane.setText("");
         inventoryTextArea.setText(" Inventario:\n");
         userInputField.setText("");
+        GameFlowController.clearPendingInput();
 
         Music.getInstance().stopMusic();
     }
@@ -357,9 +372,8 @@ public class GamePanel extends JPanel {
      */
     private void userInputFieldActionPerformed(ActionEvent evt) {
         String text = userInputField.getText().trim();
-        if (!text.isEmpty()) {
+        if (!text.isEmpty() && GameFlowController.submitCommand(text)) {
             userInputField.setText("");
-            GameFlowController.setUserInput(text);
         }
     }
 
@@ -378,18 +392,41 @@ public class GamePanel extends JPanel {
     
     /**
      * Aggiunge del testo al displayTextPane.
+     * Il testo viene accumulato e inserito al più una volta ogni FLUSH_DELAY millisecondi,
+     * così una raffica di piccoli inserimenti costa all'EDT un solo aggiornamento del documento.
      * @param text
      */
     public static void displayTextPaneAppendText(String text) {
-        SwingUtilities.invokeLater(() -> {
-            try {
-                javax.swing.text.Document doc = displayTextPane.getDocument();
-                doc.insertString(doc.getLength(), text, null);
-                displayTextPane.setCaretPosition(doc.getLength());
-            } catch (javax.swing.text.BadLocationException e) {
-                e.printStackTrace();
+        synchronized (pendingText) {
+            boolean idle = pendingText.length() == 0;
+            pendingText.append(text);
+            if (!idle) {
+                return;
             }
-        });
+        }
+        flushTimer.start();
+    }
+
+    /**
+     * Inserisce nel displayTextPane, in un'unica operazione, tutto il testo accumulato
+     * dall'ultimo inserimento. Eseguito sull'EDT dal flushTimer.
+     */
+    private static void flushPendingText() {
+        String text;
+        synchronized (pendingText) {
+            if (pendingText.length() == 0) {
+                return;
+            }
+            text = pendingText.toString();
+            pendingText.setLength(0);
+        }
+        try {
+            javax.swing.text.Document doc = displayTextPane.getDocument();
+            doc.insertString(doc.getLength(), text, null);
+            displayTextPane.setCaretPosition(doc.getLength());
+        } catch (javax.swing.text.BadLocationException e) {
+            e.printStackTrace();
+        }
     }
 
     /**
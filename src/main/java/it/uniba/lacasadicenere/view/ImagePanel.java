@@ -0,0 +1,51 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+
+package it.uniba.lacasadicenere.view;
+
+import it.uniba.lacasadicenere.util.AssetPreloader;
+import it.uniba.lacasadicenere.util.ImageCache;
+
+import javax.swing.JPanel;
+import javax.swing.SwingUtilities;
+import java.awt.Graphics;
+import java.awt.image.BufferedImage;
+
+/**
+ * Pannello che mostra un'immagine adattata alla propria dimensione.
+ * L'immagine scalata viene presa da ImageCache, quindi il repaint è una semplice copia.
+ * Se l'immagine è ancora in caricamento in background viene disegnato solo lo sfondo,
+ * e il pannello si ridisegna quando l'immagine è pronta.
+ */
+public class ImagePanel extends JPanel {
+
+    private final String imagePath;
+
+    private boolean waiting = false;
+
+    /**
+     * Costruttore del pannello.
+     * @param imagePath percorso dell'immagine da mostrare
+     */
+    public ImagePanel(String imagePath) {
+        this.imagePath = imagePath;
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        if (AssetPreloader.isLoading(imagePath)) {
+            if (!waiting) {
+                waiting = true;
+                AssetPreloader.image(imagePath).thenRun(() -> SwingUtilities.invokeLater(this::repaint));
+            }
+            return;
+        }
+        BufferedImage image = ImageCache.getScaled(imagePath, getWidth(), getHeight());
+        if (image != null) {
+            g.drawImage(image, 0, 0, null);
+        }
+    }
+}
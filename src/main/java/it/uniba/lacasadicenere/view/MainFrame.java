@@ -4,17 +4,14 @@
  */
 package it.uniba.lacasadicenere.view;
 
-import javax.imageio.ImageIO;
 import javax.swing.JFrame;
-import java.io.File;
-import java.io.IOException;
 import java.awt.Dimension;
 import java.awt.CardLayout;
-import java.awt.Image;
 import javax.swing.JPanel;
+import javax.swing.SwingUtilities;
 import javax.swing.WindowConstants;
 
-import it.uniba.lacasadicenere.service.GameFlowController;
+import it.uniba.lacasadicenere.util.AssetPreloader;
 
 /**
  * Gestore principale della GUI con correzioni per il caricamento delle risorse
@@ -31,18 +28,17 @@ public class MainFrame extends JFrame {
         setPreferredSize(new Dimension(800, 600));
         setResizable(false);
         
-        try {
-            Image icona = ImageIO.read(new File("src/main/resources/img/icona.png"));
-            setIconImage(icona);
-        } catch(IOException e) {
-            e.printStackTrace();
-        }
+        AssetPreloader.image("src/main/resources/img/icona.png").thenAccept(icona -> {
+            if (icona != null) {
+                SwingUtilities.invokeLater(() -> setIconImage(icona));
+            }
+        });
         
         JPanel cards = new JPanel(new CardLayout());
         MenuPanel menu = new MenuPanel();
         game = new GamePanel();
 
-        GameFlowController.setGamePanel(game);
+        SwingGameView.install();
 
         cards.add(menu, "MenuPanel");
         cards.add(game, "GamePanel");
@@ -11,9 +11,11 @@ import it.uniba.lacasadicenere.type.CommandType;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
-import java.util.HashMap;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
 import java.util.HashSet;
-import java.util.Map;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -60,14 +62,51 @@ public class MapDialog extends JFrame {
 
     /**
      * Pannello interno che disegna la mappa.
+     * Le posizioni delle stanze vengono calcolate da MapLayout a partire dai corridoi e
+     * ricalcolate solo quando cambia l'elenco dei corridoi. La mappa si sposta trascinandola
+     * con il mouse e si ingrandisce con la rotellina; vengono disegnate solo le stanze visibili,
+     * e la stanza sotto il mouse si trova con l'indice a griglia della disposizione.
+     * La parte statica (corridoi e stanze) viene disegnata una volta per livello di zoom in
+     * un'immagine fuori schermo che copre tutta la mappa, o per le mappe molto grandi la zona
+     * visibile più una finestra in ogni direzione. Trascinando la mappa l'immagine viene solo
+     * copiata in un'altra posizione; viene ridisegnata quando cambia lo zoom, quando updateMap
+     * rileva un cambiamento dello stato del gioco o quando la vista esce dalla zona disegnata.
+     * Il titolo ha una sua immagine. A ogni repaint si copiano le immagini e si disegnano sopra
+     * solo la stanza corrente e quella sotto il mouse.
      */
     private class MapPanel extends JPanel {
 
         private Game game;
-        private Map<String, Point> roomPositions;
         private Set<String> visitedRooms;
         private String hoveredRoom;
 
+        // Disposizione delle stanze e corridoi con cui è stata calcolata
+        private MapLayout layout;
+        private List<RoomConnection> layoutCorridors;
+        private int layoutSize;
+
+        // Vista: un punto della mappa (x, y) è disegnato in (x * zoom + offsetX, y * zoom + offsetY);
+        // gli spostamenti sono sempre interi, così il livello statico si copia senza ricampionarlo
+        private double zoom = 1;
+        private double offsetX;
+        private double offsetY;
+        private boolean viewInitialized = false;
+        private Point dragStart;
+
+        // Livello statico: la zona della mappa ingrandita che inizia in (layerX, layerY),
+        // disegnata allo zoom layerZoom, e stato del gioco con cui è stato disegnato
+        private BufferedImage staticLayer;
+        private boolean staticLayerValid = false;
+        private double layerZoom;
+        private final Rectangle layerBounds = new Rectangle();
+        private final List<String> visibleRooms = new ArrayList<>();
+
+        // Titolo, disegnato di nuovo solo se cambia la larghezza del pannello
+        private BufferedImage titleLayer;
+        private List<RoomConnection> drawnCorridors;
+        private String drawnCurrentRoom;
+        private boolean[] drawnLocks = new boolean[0];
+
         // Colori
         private static final Color BG = new Color(30, 30, 35);
         private static final Color LIGHT = new Color(200, 220, 255);
@@ -78,13 +117,41 @@ public class MapDialog extends JFrame {
         private static final Color CORRIDOR_LOCKED = new Color(150, 50, 50);
         private static final Color CORRIDOR_OPEN = new Color(80, 120, 80);
 
+        private static final Color SUBTITLE = new Color(150, 150, 160);
+        private static final Color LABEL_BG = new Color(30, 30, 35, 240);
+        private static final Color MARKER = new Color(255, 200, 100);
+
+        // Font e tratti
+        private static final Font TITLE_FONT = new Font("Monospaced", Font.BOLD, 32);
+        private static final Font SUBTITLE_FONT = new Font("Monospaced", Font.ITALIC, 16);
+        private static final Font LABEL_FONT = new Font("Monospaced", Font.BOLD, 12);
+        private static final Font MARKER_FONT = new Font("Monospaced", Font.BOLD, 10);
+        private static final Font ROOM_FONT = new Font("Monospaced", Font.BOLD, 14);
+        private static final BasicStroke CORRIDOR_OPEN_STROKE = new BasicStroke(4);
+        private static final BasicStroke CORRIDOR_LOCKED_STROKE = new BasicStroke(3);
+        private static final BasicStroke LABEL_STROKE = new BasicStroke(1.5f);
+        private static final BasicStroke ROOM_STROKE = new BasicStroke(2);
+        private static final BasicStroke ROOM_CURRENT_STROKE = new BasicStroke(3);
+
         // Dimensioni
-        private static final int ROOM_W = 110;
-        private static final int ROOM_H = 75;
+        private static final int ROOM_W = MapLayout.ROOM_W;
+        private static final int ROOM_H = MapLayout.ROOM_H;
+
+        // Area della mappa: sotto il titolo, con un margine sugli altri lati
+        private static final int MAP_TOP = 115;
+        private static final int MARGIN = 20;
+
+        // Limiti dello zoom; sotto MIN_FIT_ZOOM la mappa non viene adattata alla finestra
+        private static final double MIN_ZOOM = 0.25;
+        private static final double MAX_ZOOM = 2.5;
+        private static final double MIN_FIT_ZOOM = 0.5;
+        private static final double ZOOM_STEP = 1.1;
+
+        // Margine attorno alle stanze nel livello statico, per i bordi, in unità della mappa
+        private static final int LAYER_PAD = 4;
 
         public MapPanel(Game game) {
             this.game = game;
-            this.roomPositions = new HashMap<>();
             this.visitedRooms = new HashSet<>();
             this.hoveredRoom = null;
 
@@ -92,7 +159,6 @@ public class MapDialog extends JFrame {
             setBackground(BG);
             setToolTipText("");
 
-            initRoomPositions();
             setupMouseListener();
 
             if (game.getCurrentRoom() != null) {
@@ -100,40 +166,34 @@ public class MapDialog extends JFrame {
             }
         }
 
-        private void initRoomPositions() {
-            roomPositions.put("Stanza1", new Point(120, 200));
-            roomPositions.put("Stanza2", new Point(120, 340));
-            roomPositions.put("Stanza3", new Point(300, 340));
-            roomPositions.put("Stanza4", new Point(480, 340));
-            roomPositions.put("Stanza5", new Point(480, 200));
-        }
-
         private void setupMouseListener() {
             addMouseMotionListener(new MouseMotionAdapter() {
                 @Override
                 public void mouseMoved(MouseEvent e) {
                     String prev = hoveredRoom;
-                    hoveredRoom = null;
-
-                    for (Map.Entry<String, Point> entry : roomPositions.entrySet()) {
-                        Point p = entry.getValue();
-                        if (e.getX() >= p.x && e.getX() <= p.x + ROOM_W &&
-                            e.getY() >= p.y && e.getY() <= p.y + ROOM_H) {
-                            hoveredRoom = entry.getKey();
-                            setCursor(Cursor.getPredefinedCursor(Cursor.HAND_CURSOR));
-                            break;
-                        }
-                    }
+                    hoveredRoom = roomAt(e.getX(), e.getY());
 
-                    if (hoveredRoom == null) {
+                    if (hoveredRoom != null) {
+                        setCursor(Cursor.getPredefinedCursor(Cursor.HAND_CURSOR));
+                    } else {
                         setCursor(Cursor.getDefaultCursor());
                     }
 
                     if ((prev == null && hoveredRoom != null) || 
                         (prev != null && !prev.equals(hoveredRoom))) {
-                        repaint();
+                        repaintRoom(prev);
+                        repaintRoom(hoveredRoom);
                     }
                 }
+
+                @Override
+                public void mouseDragged(MouseEvent e) {
+                    if (dragStart == null) return;
+                    offsetX += e.getX() - dragStart.x;
+                    offsetY += e.getY() - dragStart.y;
+                    dragStart = e.getPoint();
+                    viewChanged();
+                }
             });
 
             addMouseListener(new MouseAdapter() {
@@ -143,7 +203,62 @@ public class MapDialog extends JFrame {
                         showRoomInfo(hoveredRoom);
                     }
                 }
+
+                @Override
+                public void mousePressed(MouseEvent e) {
+                    dragStart = e.getPoint();
+                }
+
+                @Override
+                public void mouseReleased(MouseEvent e) {
+                    dragStart = null;
+                }
             });
+
+            addMouseWheelListener(e -> {
+                double newZoom = Math.max(MIN_ZOOM, Math.min(MAX_ZOOM, zoom * Math.pow(ZOOM_STEP, -e.getPreciseWheelRotation())));
+                if (newZoom == zoom) return;
+                // Il punto della mappa sotto il mouse resta fermo
+                double worldX = (e.getX() - offsetX) / zoom;
+                double worldY = (e.getY() - offsetY) / zoom;
+                zoom = newZoom;
+                offsetX = Math.round(e.getX() - worldX * zoom);
+                offsetY = Math.round(e.getY() - worldY * zoom);
+                viewChanged();
+            });
+        }
+
+        /**
+         * La vista è stata spostata o ingrandita: la stanza sotto il mouse va cercata di nuovo.
+         * Il livello statico viene ridisegnato da paintComponent solo se serve.
+         */
+        private void viewChanged() {
+            hoveredRoom = null;
+            setCursor(Cursor.getDefaultCursor());
+            repaint();
+        }
+
+        /**
+         * Restituisce la stanza che contiene il punto indicato, se il punto è nell'area della mappa.
+         * @param x ascissa sullo schermo
+         * @param y ordinata sullo schermo
+         * @return il nome della stanza, o null se nel punto non c'è una stanza
+         */
+        private String roomAt(int x, int y) {
+            if (layout == null || y < MAP_TOP) return null;
+            return layout.roomAt((x - offsetX) / zoom, (y - offsetY) / zoom);
+        }
+
+        /**
+         * Ridisegna solo l'area occupata da una stanza, bordo compreso.
+         */
+        private void repaintRoom(String roomName) {
+            Rectangle r = roomName != null && layout != null ? layout.getRoomBounds(roomName) : null;
+            if (r != null) {
+                int x = (int) Math.floor(r.x * zoom + offsetX);
+                int y = (int) Math.floor(r.y * zoom + offsetY);
+                repaint(x - 3, y - 3, (int) Math.ceil(ROOM_W * zoom) + 6, (int) Math.ceil(ROOM_H * zoom) + 6);
+            }
         }
 
         private void showRoomInfo(String roomName) {
@@ -189,79 +304,277 @@ public class MapDialog extends JFrame {
         }
 
         private Room findRoom(String name) {
-            if (game.getCorridorMap() == null) return null;
-            for (RoomConnection c : game.getCorridorMap()) {
-                if (c.getStartingRoom().getName().equals(name)) {
-                    return c.getStartingRoom();
-                }
-                if (c.getArrivingRoom().getName().equals(name)) {
-                    return c.getArrivingRoom();
-                }
+            ensureLayout();
+            return layout.getRoom(name);
+        }
+
+        /**
+         * Ricalcola la disposizione delle stanze se l'elenco dei corridoi è cambiato.
+         */
+        private void ensureLayout() {
+            List<RoomConnection> corridors = game.getCorridorMap();
+            int size = corridors != null ? corridors.size() : 0;
+            if (layout == null || corridors != layoutCorridors || size != layoutSize) {
+                layout = MapLayout.compute(corridors);
+                layoutCorridors = corridors;
+                layoutSize = size;
+                viewInitialized = false;
+                staticLayerValid = false;
+                hoveredRoom = null;
+            }
+        }
+
+        /**
+         * Imposta la vista iniziale: la mappa intera centrata nella finestra se entra
+         * con uno zoom accettabile, altrimenti zoom normale centrato sulla stanza corrente.
+         */
+        private void initView(int w, int h) {
+            Rectangle extent = layout.getExtent();
+            int areaW = w - 2 * MARGIN;
+            int areaH = h - MAP_TOP - MARGIN;
+            if (extent.isEmpty() || areaW <= 0 || areaH <= 0) {
+                zoom = 1;
+                offsetX = MARGIN;
+                offsetY = MAP_TOP;
+                return;
             }
-            return null;
+
+            zoom = Math.min(1, Math.min((double) areaW / extent.width, (double) areaH / extent.height));
+            Rectangle center = extent;
+            if (zoom < MIN_FIT_ZOOM) {
+                zoom = 1;
+                String current = game.getCurrentRoom() != null ? game.getCurrentRoom().getName() : null;
+                Rectangle currentBounds = current != null ? layout.getRoomBounds(current) : null;
+                center = currentBounds != null ? currentBounds : layout.getRoomBounds().values().iterator().next();
+            }
+            offsetX = Math.round(MARGIN + areaW / 2.0 - (center.x + center.width / 2.0) * zoom);
+            offsetY = Math.round(MAP_TOP + areaH / 2.0 - (center.y + center.height / 2.0) * zoom);
         }
 
+        /**
+         * Registra la stanza corrente come visitata e, se lo stato del gioco mostrato
+         * dalla mappa è cambiato, invalida il livello statico e ridisegna.
+         * Lo stato della mappa è usato solo dall'EDT: le chiamate da altri thread
+         * (es. dal thread dei comandi) vengono spostate sull'EDT.
+         */
         public void updateMap() {
+            if (!SwingUtilities.isEventDispatchThread()) {
+                SwingUtilities.invokeLater(this::updateMap);
+                return;
+            }
+            boolean changed = false;
             if (game.getCurrentRoom() != null) {
-                visitedRooms.add(game.getCurrentRoom().getName());
+                changed = visitedRooms.add(game.getCurrentRoom().getName());
+            }
+            if (changed || stateChanged()) {
+                staticLayerValid = false;
+                repaint();
+            }
+        }
+
+        /**
+         * Confronta lo stato del gioco con quello usato per disegnare il livello statico:
+         * elenco dei corridoi, stanza corrente e corridoi bloccati.
+         */
+        private boolean stateChanged() {
+            List<RoomConnection> corridors = game.getCorridorMap();
+            if (corridors != drawnCorridors) {
+                return true;
+            }
+            String current = game.getCurrentRoom() != null ? game.getCurrentRoom().getName() : null;
+            if (current == null ? drawnCurrentRoom != null : !current.equals(drawnCurrentRoom)) {
+                return true;
+            }
+            if (corridors == null) {
+                return false;
+            }
+            if (corridors.size() != drawnLocks.length) {
+                return true;
+            }
+            for (int i = 0; i < drawnLocks.length; i++) {
+                if (corridors.get(i).isLocked() != drawnLocks[i]) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Salva lo stato del gioco con cui viene disegnato il livello statico.
+         */
+        private void recordState() {
+            List<RoomConnection> corridors = game.getCorridorMap();
+            drawnCorridors = corridors;
+            drawnCurrentRoom = game.getCurrentRoom() != null ? game.getCurrentRoom().getName() : null;
+            drawnLocks = new boolean[corridors != null ? corridors.size() : 0];
+            for (int i = 0; i < drawnLocks.length; i++) {
+                drawnLocks[i] = corridors.get(i).isLocked();
             }
-            repaint();
         }
 
         @Override
         protected void paintComponent(Graphics g) {
             super.paintComponent(g);
-            Graphics2D g2 = (Graphics2D) g;
+            int w = getWidth();
+            int h = getHeight();
+            if (w <= 0 || h <= MAP_TOP) return;
+
+            ensureLayout();
+            if (!viewInitialized) {
+                initView(w, h);
+                viewInitialized = true;
+            }
+
+            if (titleLayer == null || titleLayer.getWidth() != w) {
+                titleLayer = createLayer(w, MAP_TOP);
+                Graphics2D title = titleLayer.createGraphics();
+                title.setColor(getBackground());
+                title.fillRect(0, 0, w, MAP_TOP);
+                setQualityHints(title);
+                drawTitle(title);
+                title.dispose();
+            }
+            g.drawImage(titleLayer, 0, 0, null);
+
+            // Area della mappa visibile, in pixel della mappa ingrandita
+            int dx = (int) offsetX;
+            int dy = (int) offsetY;
+            Rectangle view = new Rectangle(-dx, MAP_TOP - dy, w, h - MAP_TOP);
+            if (!staticLayerValid || layerZoom != zoom || !layerCovers(view)) {
+                renderStaticLayer(view);
+            }
+
+            if (staticLayer != null) {
+                Graphics2D g2 = (Graphics2D) g.create();
+                g2.clipRect(0, MAP_TOP, w, h - MAP_TOP);
+                g2.drawImage(staticLayer, layerBounds.x + dx, layerBounds.y + dy, null);
+                g2.dispose();
+            }
+
+            Graphics2D g2 = mapGraphics(g);
+            drawOverlay(g2);
+            g2.dispose();
+        }
+
+        private void setQualityHints(Graphics2D g2) {
             g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
             g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        }
+
+        /**
+         * Crea un contesto grafico per disegnare in coordinate della mappa:
+         * limitato all'area sotto il titolo, con spostamento e zoom della vista.
+         */
+        private Graphics2D mapGraphics(Graphics g) {
+            Graphics2D g2 = (Graphics2D) g.create();
+            g2.clipRect(0, MAP_TOP, getWidth(), getHeight() - MAP_TOP);
+            g2.translate(offsetX, offsetY);
+            g2.scale(zoom, zoom);
+            setQualityHints(g2);
+            return g2;
+        }
 
-            drawTitle(g2);
-            drawCorridors(g2);
-            drawRooms(g2);
+        /**
+         * Restituisce il rettangolo che contiene tutte le stanze, in pixel della mappa ingrandita.
+         */
+        private Rectangle scaledExtent() {
+            Rectangle extent = layout.getExtent();
+            if (extent.isEmpty()) {
+                return extent;
+            }
+            int x = (int) Math.floor((extent.x - LAYER_PAD) * zoom);
+            int y = (int) Math.floor((extent.y - LAYER_PAD) * zoom);
+            int right = (int) Math.ceil((extent.x + extent.width + LAYER_PAD) * zoom);
+            int bottom = (int) Math.ceil((extent.y + extent.height + LAYER_PAD) * zoom);
+            return new Rectangle(x, y, right - x, bottom - y);
+        }
+
+        /**
+         * Verifica se il livello statico contiene tutta la parte della mappa che cade nella vista.
+         */
+        private boolean layerCovers(Rectangle view) {
+            Rectangle needed = view.intersection(scaledExtent());
+            return needed.isEmpty() || layerBounds.contains(needed);
+        }
+
+        /**
+         * Disegna corridoi e stanze nell'immagine fuori schermo, allo zoom corrente.
+         * L'immagine copre tutta la mappa, al più la vista allargata di una finestra per lato.
+         */
+        private void renderStaticLayer(Rectangle view) {
+            recordState();
+            layerZoom = zoom;
+            staticLayerValid = true;
+
+            Rectangle around = new Rectangle(view.x - view.width, view.y - view.height, view.width * 3, view.height * 3);
+            Rectangle region = around.intersection(scaledExtent());
+            if (region.isEmpty()) {
+                layerBounds.setBounds(0, 0, 0, 0);
+                staticLayer = null;
+                return;
+            }
+            layerBounds.setBounds(region);
+            if (staticLayer == null || staticLayer.getWidth() != region.width || staticLayer.getHeight() != region.height) {
+                staticLayer = createLayer(region.width, region.height);
+            }
+
+            // Zona disegnata, in coordinate della mappa
+            Rectangle2D.Double visible = new Rectangle2D.Double(
+                    region.x / zoom, region.y / zoom, region.width / zoom, region.height / zoom);
+
+            Graphics2D g2 = staticLayer.createGraphics();
+            g2.setColor(getBackground());
+            g2.fillRect(0, 0, region.width, region.height);
+            setQualityHints(g2);
+            g2.translate(-region.x, -region.y);
+            g2.scale(zoom, zoom);
+            drawCorridors(g2, visible);
+            drawRooms(g2, visible);
+            g2.dispose();
+        }
+
+        private BufferedImage createLayer(int w, int h) {
+            GraphicsConfiguration config = getGraphicsConfiguration();
+            return config != null
+                    ? config.createCompatibleImage(w, h, Transparency.OPAQUE)
+                    : new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
         }
 
         private void drawTitle(Graphics2D g2) {
-            g2.setFont(new Font("Monospaced", Font.BOLD, 32));
+            g2.setFont(TITLE_FONT);
             g2.setColor(LIGHT);
             String title = "MAPPA - La Casa di Cenere";
             int x = g2.getFontMetrics().stringWidth(title);
             g2.drawString(title, (getWidth() - x)/2, 60);
 
-            g2.setFont(new Font("Monospaced", Font.ITALIC, 16));
-            g2.setColor(new Color(150, 150, 160));
+            g2.setFont(SUBTITLE_FONT);
+            g2.setColor(SUBTITLE);
             String sub = "(Click sulle stanze per avere suggerimenti)";
             int y = g2.getFontMetrics().stringWidth(sub);
             g2.drawString(sub, (getWidth() - y) / 2, 95);
         }
 
-        private void drawCorridors(Graphics2D g2) {
-            if (game.getCorridorMap() == null) return;
-
-            Set<String> drawn = new HashSet<>();
-
-            for (RoomConnection c : game.getCorridorMap()) {
-                String s1 = c.getStartingRoom().getName();
-                String s2 = c.getArrivingRoom().getName();
-                String key = s1.compareTo(s2) < 0 ? s1 + "-" + s2 : s2 + "-" + s1;
-
-                if (drawn.contains(key)) continue;
-                drawn.add(key);
-
-                Point p1 = roomPositions.get(s1);
-                Point p2 = roomPositions.get(s2);
-                if (p1 == null || p2 == null) continue;
+        /**
+         * Disegna i corridoi che attraversano la parte visibile della mappa.
+         */
+        private void drawCorridors(Graphics2D g2, Rectangle2D visible) {
+            for (MapLayout.Corridor corridor : layout.getCorridors()) {
+                RoomConnection c = corridor.forward();
+                Rectangle p1 = layout.getRoomBounds(c.getStartingRoom().getName());
+                Rectangle p2 = layout.getRoomBounds(c.getArrivingRoom().getName());
 
                 int x1 = p1.x + ROOM_W / 2;
                 int y1 = p1.y + ROOM_H / 2;
                 int x2 = p2.x + ROOM_W / 2;
                 int y2 = p2.y + ROOM_H / 2;
+                if (!visible.intersectsLine(x1, y1, x2, y2)) continue;
 
                 // Verifica se entrambe le direzioni sono aperte
-                RoomConnection reverse = findReverse(c);
+                RoomConnection reverse = corridor.reverse();
                 boolean open = !c.isLocked() && (reverse == null || !reverse.isLocked());
 
                 g2.setColor(open ? CORRIDOR_OPEN : CORRIDOR_LOCKED);
-                g2.setStroke(new BasicStroke(open ? 4 : 3));
+                g2.setStroke(open ? CORRIDOR_OPEN_STROKE : CORRIDOR_LOCKED_STROKE);
                 g2.drawLine(x1, y1, x2, y2);
 
                 // Etichetta direzioni
@@ -270,17 +583,6 @@ public class MapDialog extends JFrame {
             }
         }
 
-        private RoomConnection findReverse(RoomConnection c) {
-            if (game.getCorridorMap() == null) return null;
-            for (RoomConnection rc : game.getCorridorMap()) {
-                if (rc.getStartingRoom().getName().equals(c.getArrivingRoom().getName()) &&
-                    rc.getArrivingRoom().getName().equals(c.getStartingRoom().getName())) {
-                    return rc;
-                }
-            }
-            return null;
-        }
-
         private void drawDirectionLabel(Graphics2D g2, int x1, int y1, int x2, int y2, 
                                         CommandType dir1, CommandType dir2) {
             int midX = (x1 + x2) / 2;
@@ -289,18 +591,18 @@ public class MapDialog extends JFrame {
             String text1 = getDirText(dir1);
             String text2 = dir2 != null ? getDirText(dir2) : null;
 
-            g2.setFont(new Font("Monospaced", Font.BOLD, 12));
+            g2.setFont(LABEL_FONT);
             FontMetrics fm = g2.getFontMetrics();
 
             int w = Math.max(fm.stringWidth(text1), text2 != null ? fm.stringWidth(text2) : 0);
             int h = text2 != null ? fm.getHeight() * 2 : fm.getHeight();
 
             // Background
-            g2.setColor(new Color(30, 30, 35, 240));
+            g2.setColor(LABEL_BG);
             g2.fillRoundRect(midX - w/2 - 6, midY - h/2 - 2, w + 12, h + 4, 8, 8);
 
             g2.setColor(LIGHT);
-            g2.setStroke(new BasicStroke(1.5f));
+            g2.setStroke(LABEL_STROKE);
             g2.drawRoundRect(midX - w/2 - 6, midY - h/2 - 2, w + 12, h + 4, 8, 8);
 
             // Testo
@@ -323,55 +625,60 @@ public class MapDialog extends JFrame {
             };
         }
 
-        private void drawRooms(Graphics2D g2) {
-            if (game.getCorridorMap() == null) return;
-
-            Set<Room> allRooms = new HashSet<>();
-            for (RoomConnection c : game.getCorridorMap()) {
-                allRooms.add(c.getStartingRoom());
-                allRooms.add(c.getArrivingRoom());
+        /**
+         * Disegna le stanze visibili con il colore di base (visitata o inesplorata).
+         */
+        private void drawRooms(Graphics2D g2, Rectangle2D visible) {
+            visibleRooms.clear();
+            layout.roomsIn(visible, visibleRooms);
+            for (String name : visibleRooms) {
+                drawRoom(g2, name, layout.getRoomBounds(name), visitedRooms.contains(name) ? ROOM_VISITED : ROOM_NORMAL, false);
             }
+        }
 
-            for (Room room : allRooms) {
-                String name = room.getName();
-                Point pos = roomPositions.get(name);
-                if (pos == null) continue;
-
-                boolean isCurrent = room.equals(game.getCurrentRoom());
-                boolean isVisited = visitedRooms.contains(name);
-                boolean isHover = name.equals(hoveredRoom);
-
-                // Colore stanza
-                Color color;
-                if (isCurrent) color = ROOM_CURRENT;
-                else if (isHover) color = ROOM_HOVER;
-                else if (isVisited) color = ROOM_VISITED;
-                else color = ROOM_NORMAL;
-
-                // Disegna stanza
-                g2.setColor(color);
-                g2.fillRoundRect(pos.x, pos.y, ROOM_W, ROOM_H, 15, 15);
-
-                g2.setColor(LIGHT);
-                g2.setStroke(new BasicStroke(isCurrent ? 3 : 2));
-                g2.drawRoundRect(pos.x, pos.y, ROOM_W, ROOM_H, 15, 15);
-
-                // Marker "TU SEI QUI"
-                if (isCurrent) {
-                    g2.setFont(new Font("Monospaced", Font.BOLD, 10));
-                    String marker = "● SEI QUI";
-                    int mw = g2.getFontMetrics().stringWidth(marker);
-                    g2.setColor(new Color(255, 200, 100));
-                    g2.drawString(marker, pos.x + (ROOM_W - mw) / 2, pos.y + ROOM_H / 2 - 8);
+        /**
+         * Disegna sopra il livello statico la stanza sotto il mouse e la stanza corrente.
+         */
+        private void drawOverlay(Graphics2D g2) {
+            String current = drawnCurrentRoom;
+            if (hoveredRoom != null && !hoveredRoom.equals(current)) {
+                Rectangle r = layout.getRoomBounds(hoveredRoom);
+                if (r != null) {
+                    drawRoom(g2, hoveredRoom, r, ROOM_HOVER, false);
                 }
+            }
+            if (current != null) {
+                Rectangle r = layout.getRoomBounds(current);
+                if (r != null) {
+                    drawRoom(g2, current, r, ROOM_CURRENT, true);
+                }
+            }
+        }
+
+        private void drawRoom(Graphics2D g2, String name, Rectangle pos, Color color, boolean isCurrent) {
+            // Disegna stanza
+            g2.setColor(color);
+            g2.fillRoundRect(pos.x, pos.y, ROOM_W, ROOM_H, 15, 15);
 
-                // Nome stanza
-                g2.setFont(new Font("Monospaced", Font.BOLD, 14));
-                g2.setColor(LIGHT);
-                String display = name.replace("Stanza", "S");
-                int tw = g2.getFontMetrics().stringWidth(display);
-                g2.drawString(display, pos.x + (ROOM_W - tw) / 2, pos.y + ROOM_H / 2 + 10);
+            g2.setColor(LIGHT);
+            g2.setStroke(isCurrent ? ROOM_CURRENT_STROKE : ROOM_STROKE);
+            g2.drawRoundRect(pos.x, pos.y, ROOM_W, ROOM_H, 15, 15);
+
+            // Marker "TU SEI QUI"
+            if (isCurrent) {
+                g2.setFont(MARKER_FONT);
+                String marker = "● SEI QUI";
+                int mw = g2.getFontMetrics().stringWidth(marker);
+                g2.setColor(MARKER);
+                g2.drawString(marker, pos.x + (ROOM_W - mw) / 2, pos.y + ROOM_H / 2 - 8);
             }
+
+            // Nome stanza
+            g2.setFont(ROOM_FONT);
+            g2.setColor(LIGHT);
+            String display = name.replace("Stanza", "S");
+            int tw = g2.getFontMetrics().stringWidth(display);
+            g2.drawString(display, pos.x + (ROOM_W - tw) / 2, pos.y + ROOM_H / 2 + 10);
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,258 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+
+package it.uniba.lacasadicenere.view;
+
+import it.uniba.lacasadicenere.model.Room;
+import it.uniba.lacasadicenere.model.RoomConnection;
+import it.uniba.lacasadicenere.type.CommandType;
+
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Disposizione delle stanze sulla mappa, ricavata dalle direzioni dei corridoi.
+ * Una visita in ampiezza del grafo dei corridoi assegna a ogni stanza una cella di una
+ * griglia: NORD sposta di una riga in alto, SUD in basso, EST di una colonna a destra
+ * e OVEST a sinistra. Se la cella è già occupata la stanza va nella cella libera più vicina;
+ * le parti della mappa non collegate vengono affiancate a destra.
+ * Le coordinate restituite sono in pixel, nello spazio della mappa (prima di zoom e spostamento).
+ * Insieme alla disposizione viene costruito un indice a griglia per cercare le stanze
+ * in un punto o in un'area senza scorrerle tutte.
+ */
+public final class MapLayout {
+
+    public static final int ROOM_W = 110;
+    public static final int ROOM_H = 75;
+
+    /**
+     * Distanza tra due celle della griglia.
+     */
+    private static final int STEP_X = 180;
+    private static final int STEP_Y = 140;
+
+    /**
+     * Un corridoio da disegnare: la connessione e, se esiste, quella inversa.
+     */
+    public record Corridor(RoomConnection forward, RoomConnection reverse) {
+    }
+
+    private final Map<String, Rectangle> bounds = new LinkedHashMap<>();
+    private final Map<String, Room> rooms = new LinkedHashMap<>();
+    private final List<Corridor> corridors = new ArrayList<>();
+    private final Rectangle extent = new Rectangle();
+    private RoomGridIndex index;
+
+    private MapLayout() {
+    }
+
+    /**
+     * Calcola la disposizione delle stanze collegate dai corridoi.
+     * @param corridorMap elenco dei corridoi del gioco (può essere null)
+     * @return la disposizione calcolata
+     */
+    public static MapLayout compute(List<RoomConnection> corridorMap) {
+        MapLayout layout = new MapLayout();
+        if (corridorMap == null || corridorMap.isEmpty()) {
+            layout.index = new RoomGridIndex(layout.bounds);
+            return layout;
+        }
+
+        // Corridoi uscenti da ogni stanza, e corridoi entranti percorsi al contrario
+        Map<String, List<RoomConnection>> outgoing = new HashMap<>();
+        Map<String, List<RoomConnection>> incoming = new HashMap<>();
+        for (RoomConnection c : corridorMap) {
+            layout.rooms.putIfAbsent(c.getStartingRoom().getName(), c.getStartingRoom());
+            layout.rooms.putIfAbsent(c.getArrivingRoom().getName(), c.getArrivingRoom());
+            outgoing.computeIfAbsent(c.getStartingRoom().getName(), k -> new ArrayList<>()).add(c);
+            incoming.computeIfAbsent(c.getArrivingRoom().getName(), k -> new ArrayList<>()).add(c);
+        }
+
+        Map<String, Point> cells = new HashMap<>();
+        Set<Long> occupied = new HashSet<>();
+        Deque<String> queue = new ArrayDeque<>();
+        // Celle occupate finora (larghezza e altezza contano le celle meno una)
+        Rectangle grid = null;
+
+        for (String start : layout.rooms.keySet()) {
+            if (cells.containsKey(start)) continue;
+
+            // Nuova parte della mappa: si parte a destra di quelle già disposte
+            Point origin = grid == null ? new Point(0, 0) : new Point(grid.x + grid.width + 1, grid.y);
+            grid = grow(grid, place(start, origin, cells, occupied));
+            queue.add(start);
+
+            while (!queue.isEmpty()) {
+                String name = queue.poll();
+                Point cell = cells.get(name);
+                for (RoomConnection c : outgoing.getOrDefault(name, Collections.emptyList())) {
+                    String next = c.getArrivingRoom().getName();
+                    if (!cells.containsKey(next)) {
+                        grid = grow(grid, place(next, step(cell, c.getDirection(), 1), cells, occupied));
+                        queue.add(next);
+                    }
+                }
+                for (RoomConnection c : incoming.getOrDefault(name, Collections.emptyList())) {
+                    String previous = c.getStartingRoom().getName();
+                    if (!cells.containsKey(previous)) {
+                        grid = grow(grid, place(previous, step(cell, c.getDirection(), -1), cells, occupied));
+                        queue.add(previous);
+                    }
+                }
+            }
+        }
+
+        for (String name : layout.rooms.keySet()) {
+            Point p = cells.get(name);
+            Rectangle r = new Rectangle((p.x - grid.x) * STEP_X, (p.y - grid.y) * STEP_Y, ROOM_W, ROOM_H);
+            layout.bounds.put(name, r);
+            layout.extent.add(r);
+        }
+
+        layout.index = new RoomGridIndex(layout.bounds);
+        layout.collectCorridors(corridorMap);
+        return layout;
+    }
+
+    /**
+     * Cella adiacente nella direzione indicata; con verso -1 nella direzione opposta.
+     */
+    private static Point step(Point cell, CommandType direction, int sign) {
+        return switch (direction) {
+            case NORD -> new Point(cell.x, cell.y - sign);
+            case SUD -> new Point(cell.x, cell.y + sign);
+            case EST -> new Point(cell.x + sign, cell.y);
+            case OVEST -> new Point(cell.x - sign, cell.y);
+            default -> new Point(cell.x + sign, cell.y);
+        };
+    }
+
+    /**
+     * Assegna alla stanza la cella indicata o, se è occupata, la cella libera più vicina,
+     * cercando su anelli quadrati di raggio crescente.
+     */
+    private static Point place(String name, Point wanted, Map<String, Point> cells, Set<Long> occupied) {
+        Point cell = occupied.contains(key(wanted)) ? nearestFree(wanted, occupied) : wanted;
+        cells.put(name, cell);
+        occupied.add(key(cell));
+        return cell;
+    }
+
+    private static Rectangle grow(Rectangle grid, Point cell) {
+        if (grid == null) {
+            return new Rectangle(cell);
+        }
+        grid.add(cell);
+        return grid;
+    }
+
+    private static Point nearestFree(Point wanted, Set<Long> occupied) {
+        for (int radius = 1; ; radius++) {
+            for (int dy = -radius; dy <= radius; dy++) {
+                for (int dx = -radius; dx <= radius; dx++) {
+                    if (Math.max(Math.abs(dx), Math.abs(dy)) != radius) continue;
+                    Point candidate = new Point(wanted.x + dx, wanted.y + dy);
+                    if (!occupied.contains(key(candidate))) {
+                        return candidate;
+                    }
+                }
+            }
+        }
+    }
+
+    private static long key(Point cell) {
+        return ((long) cell.x << 32) | (cell.y & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Raggruppa ogni corridoio con quello inverso, così ogni collegamento viene disegnato una volta.
+     */
+    private void collectCorridors(List<RoomConnection> corridorMap) {
+        Map<String, RoomConnection> byRooms = new HashMap<>();
+        for (RoomConnection c : corridorMap) {
+            byRooms.putIfAbsent(c.getStartingRoom().getName() + "\n" + c.getArrivingRoom().getName(), c);
+        }
+        Set<String> drawn = new HashSet<>();
+        for (RoomConnection c : corridorMap) {
+            String s1 = c.getStartingRoom().getName();
+            String s2 = c.getArrivingRoom().getName();
+            String key = s1.compareTo(s2) < 0 ? s1 + "\n" + s2 : s2 + "\n" + s1;
+            if (!drawn.add(key)) continue;
+            corridors.add(new Corridor(c, byRooms.get(s2 + "\n" + s1)));
+        }
+    }
+
+    /**
+     * Restituisce il rettangolo occupato da una stanza.
+     * @param name nome della stanza
+     * @return il rettangolo nello spazio della mappa, o null se la stanza non è sulla mappa
+     */
+    public Rectangle getRoomBounds(String name) {
+        return bounds.get(name);
+    }
+
+    /**
+     * Restituisce i rettangoli di tutte le stanze, indicizzati per nome.
+     * @return mappa non modificabile nome → rettangolo
+     */
+    public Map<String, Rectangle> getRoomBounds() {
+        return Collections.unmodifiableMap(bounds);
+    }
+
+    /**
+     * Restituisce la stanza che contiene il punto indicato.
+     * @param x ascissa nello spazio della mappa
+     * @param y ordinata nello spazio della mappa
+     * @return il nome della stanza, o null se nel punto non c'è una stanza
+     */
+    public String roomAt(double x, double y) {
+        return index.roomAt(x, y);
+    }
+
+    /**
+     * Aggiunge all'elenco le stanze che intersecano l'area indicata.
+     * @param area area nello spazio della mappa
+     * @param result elenco a cui aggiungere i nomi delle stanze
+     */
+    public void roomsIn(Rectangle2D area, List<String> result) {
+        index.roomsIn(area, result);
+    }
+
+    /**
+     * Restituisce la stanza con il nome indicato.
+     * @param name nome della stanza
+     * @return la stanza, o null se non è sulla mappa
+     */
+    public Room getRoom(String name) {
+        return rooms.get(name);
+    }
+
+    /**
+     * Restituisce i corridoi da disegnare, uno per coppia di stanze collegate.
+     * @return elenco non modificabile dei corridoi
+     */
+    public List<Corridor> getCorridors() {
+        return Collections.unmodifiableList(corridors);
+    }
+
+    /**
+     * Restituisce il rettangolo che contiene tutte le stanze.
+     * @return il rettangolo nello spazio della mappa (vuoto se non ci sono stanze)
+     */
+    public Rectangle getExtent() {
+        return new Rectangle(extent);
+    }
+}
@@ -8,6 +8,7 @@ import it.uniba.lacasadicenere.model.Game;
 import it.uniba.lacasadicenere.model.Item;
 import it.uniba.lacasadicenere.controller.GameController;
 import it.uniba.lacasadicenere.service.InputService;
+import it.uniba.lacasadicenere.util.AssetPreloader;
 import it.uniba.lacasadicenere.util.Music;
 
 import javax.swing.*;
@@ -17,8 +18,6 @@ import javax.swing.plaf.metal.MetalButtonUI;
 import java.awt.Color;
 import java.awt.event.ActionEvent;
 import java.awt.Font;
-import java.awt.Graphics;
-import java.awt.Image;
 import java.awt.Insets;
 import java.awt.CardLayout;
 import java.awt.Component;
@@ -46,7 +45,7 @@ public class MenuPanel extends JPanel {
     public MenuPanel() {
         initComponents();
 
-        Music.getInstance().startMusic();
+        AssetPreloader.music().thenAccept(Music::startMusic);
     }
     
     /**
@@ -60,15 +59,7 @@ public class MenuPanel extends JPanel {
         final Color COLD_SELECT_COLOR = new Color(100, 120, 140, 100); 
         final Color FOG_BACKGROUND = new Color(30, 30, 35);
         
-        backgroundPanel = new JPanel() {
-            @Override
-            protected void paintComponent(Graphics g) {
-                super.paintComponent(g);
-                ImageIcon img = new ImageIcon("src/main/resources/img/sfondo.png");
-                Image image = img.getImage();
-                g.drawImage(image, 0, 0, getWidth(), getHeight(), this);
-            }
-        };
+        backgroundPanel = new ImagePanel("src/main/resources/img/sfondo.png");
             
         
         newGame = new JButton();
@@ -0,0 +1,133 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+
+package it.uniba.lacasadicenere.view;
+
+import java.awt.Rectangle;
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Indice spaziale a griglia uniforme sui rettangoli delle stanze.
+ * Le celle sono grandi almeno quanto la stanza più grande e ogni stanza è registrata
+ * solo nella cella che contiene il suo angolo in alto a sinistra: una stanza che contiene
+ * un punto si trova quindi nella cella del punto o in quelle immediatamente a sinistra
+ * e sopra. La ricerca della stanza in un punto controlla al più quattro celle.
+ */
+public final class RoomGridIndex {
+
+    private static final String[] EMPTY = new String[0];
+
+    private final Map<String, Rectangle> bounds;
+    private final int originX;
+    private final int originY;
+    private final int cellW;
+    private final int cellH;
+    private final int cols;
+    private final int rows;
+    private final String[][] cells;
+
+    /**
+     * Costruisce l'indice sui rettangoli indicati.
+     * @param bounds rettangoli delle stanze, indicizzati per nome
+     */
+    public RoomGridIndex(Map<String, Rectangle> bounds) {
+        this.bounds = bounds;
+
+        int minX = Integer.MAX_VALUE;
+        int minY = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE;
+        int maxY = Integer.MIN_VALUE;
+        int maxW = 1;
+        int maxH = 1;
+        for (Rectangle r : bounds.values()) {
+            minX = Math.min(minX, r.x);
+            minY = Math.min(minY, r.y);
+            maxX = Math.max(maxX, r.x);
+            maxY = Math.max(maxY, r.y);
+            maxW = Math.max(maxW, r.width);
+            maxH = Math.max(maxH, r.height);
+        }
+
+        if (bounds.isEmpty()) {
+            originX = originY = 0;
+            cols = rows = 0;
+        } else {
+            originX = minX;
+            originY = minY;
+            cols = (maxX - minX) / maxW + 1;
+            rows = (maxY - minY) / maxH + 1;
+        }
+        cellW = maxW;
+        cellH = maxH;
+
+        List<List<String>> buckets = new ArrayList<>(cols * rows);
+        for (int i = 0; i < cols * rows; i++) {
+            buckets.add(null);
+        }
+        for (Map.Entry<String, Rectangle> entry : bounds.entrySet()) {
+            Rectangle r = entry.getValue();
+            int cell = ((r.y - originY) / cellH) * cols + (r.x - originX) / cellW;
+            List<String> bucket = buckets.get(cell);
+            if (bucket == null) {
+                bucket = new ArrayList<>(1);
+                buckets.set(cell, bucket);
+            }
+            bucket.add(entry.getKey());
+        }
+
+        cells = new String[cols * rows][];
+        for (int i = 0; i < cells.length; i++) {
+            List<String> bucket = buckets.get(i);
+            cells[i] = bucket == null ? EMPTY : bucket.toArray(EMPTY);
+        }
+    }
+
+    /**
+     * Restituisce la stanza che contiene il punto indicato (bordi compresi).
+     * @param x ascissa nello spazio della mappa
+     * @param y ordinata nello spazio della mappa
+     * @return il nome della stanza, o null se nel punto non c'è una stanza
+     */
+    public String roomAt(double x, double y) {
+        int col = (int) Math.floor((x - originX) / cellW);
+        int row = (int) Math.floor((y - originY) / cellH);
+        for (int r = Math.min(row, rows - 1); r >= Math.max(row - 1, 0); r--) {
+            for (int c = Math.min(col, cols - 1); c >= Math.max(col - 1, 0); c--) {
+                for (String name : cells[r * cols + c]) {
+                    Rectangle b = bounds.get(name);
+                    if (x >= b.x && x <= b.x + b.width && y >= b.y && y <= b.y + b.height) {
+                        return name;
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Aggiunge all'elenco le stanze che intersecano l'area indicata.
+     * Vengono visitate solo le celle che coprono l'area.
+     * @param area area nello spazio della mappa
+     * @param result elenco a cui aggiungere i nomi delle stanze
+     */
+    public void roomsIn(Rectangle2D area, List<String> result) {
+        int firstCol = Math.max(0, (int) Math.floor((area.getMinX() - originX) / cellW) - 1);
+        int firstRow = Math.max(0, (int) Math.floor((area.getMinY() - originY) / cellH) - 1);
+        int lastCol = Math.min(cols - 1, (int) Math.floor((area.getMaxX() - originX) / cellW));
+        int lastRow = Math.min(rows - 1, (int) Math.floor((area.getMaxY() - originY) / cellH));
+        for (int r = firstRow; r <= lastRow; r++) {
+            for (int c = firstCol; c <= lastCol; c++) {
+                for (String name : cells[r * cols + c]) {
+                    if (area.intersects(bounds.get(name))) {
+                        result.add(name);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+
+package it.uniba.lacasadicenere.view;
+
+import it.uniba.lacasadicenere.service.GameEvents;
+import it.uniba.lacasadicenere.service.OutputService;
+import it.uniba.lacasadicenere.type.GameEventListener;
+import it.uniba.lacasadicenere.util.TextWrapper;
+
+import java.awt.FontMetrics;
+import java.util.List;
+import javax.swing.SwingUtilities;
+
+/**
+ * Listener che mostra gli eventi del gioco nella GUI: testo nel pannello di gioco,
+ * inventario, immagine della stanza e mappa. Viene registrato all'avvio della GUI;
+ * senza di esso il gioco gira senza display.
+ */
+public class SwingGameView implements GameEventListener {
+
+    private static final int MARGIN = 30;
+
+    private static SwingGameView instance;
+
+    private SwingGameView() {
+    }
+
+    /**
+     * Registra la GUI come listener degli eventi del gioco e imposta il word wrapping
+     * del testo in base alla larghezza del pannello di gioco. Le chiamate successive
+     * alla prima non hanno effetto.
+     */
+    public static synchronized void install() {
+        if (instance != null) {
+            return;
+        }
+        instance = new SwingGameView();
+        GameEvents.addListener(instance);
+        OutputService.setTextFormatter(SwingGameView::formatText);
+    }
+
+    @Override
+    public void onText(String text) {
+        GamePanel.displayTextPaneAppendText(text);
+    }
+
+    @Override
+    public void onInventoryChanged(List<String> items) {
+        GamePanel.updateInventoryTextArea(items.toArray(new String[0]));
+    }
+
+    @Override
+    public void onRoomChanged(String roomName) {
+        GamePanel.setImagePanel(roomName);
+        SwingUtilities.invokeLater(() -> {
+            MapDialog mapDialog = MapDialog.getInstance();
+            if (mapDialog.isVisible()) {
+                mapDialog.updateMap();
+            }
+        });
+    }
+
+    /**
+     * L'evento arriva dal thread che anima il testo: il ritorno al menu, che ferma
+     * anche la musica, viene eseguito sull'EDT senza trattenere quel thread.
+     */
+    @Override
+    public void onGameEnded() {
+        SwingUtilities.invokeLater(MainFrame::closeGame);
+    }
+
+    /**
+     * Formatta il testo applicando word wrapping intelligente.
+     * Divide il testo per parole, non per caratteri singoli.
+     *
+     * @param text Il testo da formattare
+     * @return Il testo formattato con a capo appropriati
+     */
+    private static String formatText(String text) {
+        FontMetrics fontMetrics = GamePanel.getTextPaneFontMetrics();
+        int maxWidth = GamePanel.getTextPaneWidth() - MARGIN;
+
+        if (fontMetrics == null || maxWidth <= 0) {
+            return text;
+        }
+
+        return TextWrapper.wrap(text, fontMetrics, maxWidth);
+    }
+}
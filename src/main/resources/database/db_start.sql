@@ -6,4 +6,7 @@ CREATE TABLE IF NOT EXISTS DESCRIZIONE (
     OGGETTO1 VARCHAR(255),       -- Nome dell’oggetto coinvolto 
     OGGETTO2 VARCHAR(255),
     DESCRIZIONE CLOB(10000)     -- Testo della descrizione o dialogo
-);
\ No newline at end of file
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS IDX_DESCRIZIONE_CHIAVE
+    ON DESCRIZIONE(COMANDO, STANZA, STATO, OGGETTO1, OGGETTO2);
\ No newline at end of file
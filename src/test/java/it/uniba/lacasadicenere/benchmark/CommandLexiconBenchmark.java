@@ -0,0 +1,129 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+
+package it.uniba.lacasadicenere.benchmark;
+
+import it.uniba.lacasadicenere.controller.CommandLexicon;
+import it.uniba.lacasadicenere.model.Command;
+import it.uniba.lacasadicenere.type.CommandType;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark JMH che confronta la risoluzione del verbo tramite CommandLexicon con la
+ * scansione lineare dell'insieme dei comandi usata in precedenza dal Parser,
+ * con 8, 500 e 50.000 alias complessivi. Il tempo riportato è per singola ricerca.
+ *
+ * Si esegue con il profilo benchmark: mvn -Pbenchmark test
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CommandLexiconBenchmark {
+
+    private static final int WORDS = 1024;
+
+    @Param({"8", "500", "50000"})
+    private int aliasCount;
+
+    private Set<Command> commands;
+    private CommandLexicon lexicon;
+    private String[] words;
+
+    @Setup
+    public void setUp() {
+        commands = commands(aliasCount);
+        lexicon = CommandLexicon.of(commands);
+        words = words(commands);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(WORDS)
+    public void lexicon(Blackhole blackhole) {
+        for (String word : words) {
+            blackhole.consume(lexicon.lookup(word));
+        }
+    }
+
+    /**
+     * Ricerca originale del Parser: scansione dei comandi e dei loro alias.
+     */
+    @Benchmark
+    @OperationsPerInvocation(WORDS)
+    public void scan(Blackhole blackhole) {
+        for (String word : words) {
+            CommandType found = null;
+            for (Command command : commands) {
+                if (command.getName().equalsIgnoreCase(word) ||
+                        command.getAliases().stream().anyMatch(alias -> alias.equalsIgnoreCase(word))) {
+                    found = command.getType();
+                    break;
+                }
+            }
+            blackhole.consume(found);
+        }
+    }
+
+    /**
+     * Genera un insieme di comandi con il numero di alias indicato, ripartiti sugli otto tipi di comando.
+     */
+    private static Set<Command> commands(int aliasCount) {
+        CommandType[] types = CommandType.values();
+        List<List<String>> aliases = new ArrayList<>();
+        for (int t = 0; t < types.length; t++) {
+            aliases.add(new ArrayList<>());
+        }
+        for (int i = 0; i < aliasCount; i++) {
+            aliases.get(i % types.length).add("Alias" + i);
+        }
+
+        Set<Command> commands = new HashSet<>();
+        for (int t = 0; t < types.length; t++) {
+            commands.add(new Command(types[t].name(), aliases.get(t), types[t]));
+        }
+        return commands;
+    }
+
+    /**
+     * Sceglie le parole da cercare: tre quarti alias esistenti, un quarto parole sconosciute.
+     */
+    private static String[] words(Set<Command> commands) {
+        List<String> known = new ArrayList<>();
+        for (Command command : commands) {
+            known.add(command.getName().toLowerCase());
+            for (String alias : command.getAliases()) {
+                known.add(alias.toLowerCase());
+            }
+        }
+        Random random = new Random(42);
+        String[] words = new String[WORDS];
+        for (int i = 0; i < WORDS; i++) {
+            words[i] = i % 4 == 3 ? "sconosciuto" + i : known.get(random.nextInt(known.size()));
+        }
+        return words;
+    }
+}
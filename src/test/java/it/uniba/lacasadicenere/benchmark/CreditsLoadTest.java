@@ -0,0 +1,152 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+
+package it.uniba.lacasadicenere.benchmark;
+
+import it.uniba.lacasadicenere.server.RestServer;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Avvia il server REST e misura le richieste al secondo servite da GET /api/credits
+ * in tre casi: senza compressione, con Accept-Encoding: gzip e con If-None-Match
+ * (l'ETag della prima risposta, come farebbe un browser che ha già la pagina in cache).
+ * Per ogni caso riporta anche i byte medi del corpo delle risposte e il tempo di CPU
+ * dei thread di Grizzly per richiesta: client e server girano nella stessa JVM, quindi
+ * con pochi processori le richieste al secondo dipendono molto anche dal client.
+ * Esegui questo main dalla radice del progetto; argomenti opzionali: porta, richieste in volo.
+ */
+public class CreditsLoadTest {
+
+    /**
+     * Riscaldamento iniziale: su una macchina con pochi processori il JIT di Grizzly
+     * e del client richiede diversi secondi e falserebbe il primo caso misurato.
+     */
+    private static final long WARMUP_NANOS = 15_000_000_000L;
+    private static final long CASE_WARMUP_NANOS = 1_000_000_000L;
+    private static final long MEASURE_NANOS = 5_000_000_000L;
+
+    public static void main(String[] args) throws Exception {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 18081;
+        int inFlight = args.length > 1 ? Integer.parseInt(args[1]) : 32;
+        URI uri = URI.create("http://localhost:" + port + "/api/credits");
+
+        RestServer server = new RestServer();
+        server.startServer(port);
+
+        // stesse impostazioni del client di GameApiLoadTest: HTTP/1.1 ed executor esplicito
+        ExecutorService clientExecutor = Executors.newFixedThreadPool(2, r -> {
+            Thread thread = new Thread(r, "load-test-client");
+            thread.setDaemon(true);
+            return thread;
+        });
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(clientExecutor)
+                .build();
+        waitForServer(client, uri);
+
+        HttpRequest plain = HttpRequest.newBuilder(uri).build();
+        HttpRequest gzip = HttpRequest.newBuilder(uri).header("Accept-Encoding", "gzip").build();
+        String etag = client.send(plain, HttpResponse.BodyHandlers.discarding())
+                .headers().firstValue("ETag").orElse(null);
+        HttpRequest conditional = etag != null
+                ? HttpRequest.newBuilder(uri).header("If-None-Match", etag).build()
+                : plain;
+
+        run(client, plain, inFlight, WARMUP_NANOS);
+        run(client, gzip, inFlight, CASE_WARMUP_NANOS);
+        run(client, conditional, inFlight, CASE_WARMUP_NANOS);
+
+        System.out.printf("richieste in volo     %10d%n", inFlight);
+        measure(client, "identity", plain, inFlight);
+        measure(client, "gzip", gzip, inFlight);
+        measure(client, etag != null ? "If-None-Match" : "senza ETag", conditional, inFlight);
+
+        server.stopServer();
+        System.exit(0);
+    }
+
+    private static void measure(HttpClient client, String name, HttpRequest request, int inFlight)
+            throws InterruptedException {
+        run(client, request, inFlight, CASE_WARMUP_NANOS);
+        long cpuBefore = serverCpuNanos();
+        long[] result = run(client, request, inFlight, MEASURE_NANOS);
+        long cpu = serverCpuNanos() - cpuBefore;
+        System.out.printf("%-14s %8.0f richieste/s  %6d byte/risposta  %6.1f us CPU server/richiesta  stato %d%n",
+                name, result[0] / (MEASURE_NANOS / 1e9), result[0] > 0 ? result[1] / result[0] : 0,
+                result[0] > 0 ? cpu / 1e3 / result[0] : 0, result[2]);
+    }
+
+    /**
+     * Tempo di CPU consumato finora dai thread di Grizzly, in nanosecondi.
+     */
+    private static long serverCpuNanos() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        long total = 0;
+        for (ThreadInfo info : threads.getThreadInfo(threads.getAllThreadIds())) {
+            if (info != null && info.getThreadName().toLowerCase().contains("grizzly")) {
+                total += Math.max(0, threads.getThreadCpuTime(info.getThreadId()));
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Invia la richiesta per la durata indicata, tenendo al più inFlight richieste in volo.
+     * @return numero di risposte, byte totali dei corpi e codice di stato dell'ultima risposta
+     */
+    private static long[] run(HttpClient client, HttpRequest request, int inFlight, long durationNanos)
+            throws InterruptedException {
+        Semaphore slots = new Semaphore(inFlight);
+        AtomicLong responses = new AtomicLong();
+        AtomicLong bytes = new AtomicLong();
+        AtomicInteger status = new AtomicInteger();
+        long end = System.nanoTime() + durationNanos;
+
+        while (System.nanoTime() < end) {
+            slots.acquire();
+            client.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray()).whenComplete((r, e) -> {
+                if (e == null) {
+                    responses.incrementAndGet();
+                    bytes.addAndGet(r.body().length);
+                    status.set(r.statusCode());
+                }
+                slots.release();
+            });
+        }
+        slots.acquire(inFlight);
+        return new long[] {responses.get(), bytes.get(), status.get()};
+    }
+
+    /**
+     * Attende che il server risponda: startServer avvia Grizzly in un altro thread.
+     */
+    private static void waitForServer(HttpClient client, URI uri) throws Exception {
+        for (int attempt = 0; ; attempt++) {
+            try {
+                client.send(HttpRequest.newBuilder(uri).build(), HttpResponse.BodyHandlers.discarding());
+                return;
+            } catch (ConnectException e) {
+                if (attempt == 50) {
+                    throw e;
+                }
+                Thread.sleep(100);
+            }
+        }
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+
+package it.uniba.lacasadicenere.benchmark;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Random;
+
+/**
+ * Misura la latenza della ricerca di una descrizione al crescere della tabella DESCRIZIONE.
+ * Usa un database H2 in memoria creato con db_start.sql e riempito con righe sintetiche,
+ * confrontando la query con e senza l'indice composto.
+ * Esegui questo main dalla radice del progetto.
+ */
+public class DescriptionLookupBenchmark {
+
+    private static final String DB_URL = "jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1";
+
+    /**
+     * Ricerca di una singola descrizione sulle colonne dell'indice IDX_DESCRIZIONE_CHIAVE.
+     */
+    private static final String DESCRIPTION_QUERY = "SELECT DESCRIZIONE FROM DESCRIZIONE WHERE COMANDO = ? AND STANZA = ? AND STATO = ? AND OGGETTO1 = ? AND OGGETTO2 = ? LIMIT 1";
+
+    private static final int[] SIZES = {1_000, 10_000, 100_000};
+    private static final int LOOKUPS = 20_000;
+    private static final int WARMUP = 5_000;
+    private static final int STANZE = 500;
+
+    /**
+     * Numero di ricerche senza indice: ogni ricerca legge l'intera tabella.
+     */
+    private static final int SCAN_LOOKUPS = 200;
+
+    public static void main(String[] args) throws Exception {
+        try (Connection conn = DriverManager.getConnection(DB_URL, "sa", "")) {
+
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("RUNSCRIPT FROM 'src/main/resources/database/db_start.sql'");
+            }
+
+            System.out.printf("%10s %16s %16s%n", "righe", "con indice (us)", "senza indice (us)");
+            int rows = 0;
+            for (int size : SIZES) {
+                fill(conn, rows, size);
+                rows = size;
+
+                double indexed = measure(conn, rows, WARMUP, LOOKUPS);
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.execute("DROP INDEX IDX_DESCRIZIONE_CHIAVE");
+                }
+                double scan = measure(conn, rows, SCAN_LOOKUPS / 10, SCAN_LOOKUPS);
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.execute("RUNSCRIPT FROM 'src/main/resources/database/db_start.sql'");
+                }
+
+                System.out.printf("%10d %16.2f %16.2f%n", rows, indexed, scan);
+            }
+        }
+    }
+
+    /**
+     * Inserisce le righe sintetiche con ID da from (incluso) a to (escluso).
+     */
+    private static void fill(Connection conn, int from, int to) throws SQLException {
+        String insert = "INSERT INTO DESCRIZIONE(ID, COMANDO, STANZA, STATO, OGGETTO1, OGGETTO2, DESCRIZIONE) "
+                + "VALUES (?, ?, ?, 'true', ?, '0', ?)";
+        try (PreparedStatement stmt = conn.prepareStatement(insert)) {
+            for (int id = from; id < to; id++) {
+                stmt.setInt(1, id);
+                stmt.setString(2, command(id));
+                stmt.setString(3, room(id));
+                stmt.setString(4, item(id));
+                stmt.setString(5, "Descrizione sintetica numero " + id + ".");
+                stmt.addBatch();
+                if (id % 1000 == 999) {
+                    stmt.executeBatch();
+                }
+            }
+            stmt.executeBatch();
+        }
+    }
+
+    /**
+     * Esegue ricerche casuali tra le righe presenti e restituisce la latenza media in microsecondi.
+     */
+    private static double measure(Connection conn, int rows, int warmup, int lookups) throws SQLException {
+        Random random = new Random(42);
+        int found = 0;
+        long elapsed;
+        try (PreparedStatement stmt = conn.prepareStatement(DESCRIPTION_QUERY)) {
+            for (int i = 0; i < warmup; i++) {
+                found += lookup(stmt, random.nextInt(rows));
+            }
+
+            long start = System.nanoTime();
+            for (int i = 0; i < lookups; i++) {
+                found += lookup(stmt, random.nextInt(rows));
+            }
+            elapsed = System.nanoTime() - start;
+        }
+
+        if (found != warmup + lookups) {
+            throw new IllegalStateException("Descrizioni mancanti: " + (warmup + lookups - found));
+        }
+        return elapsed / 1_000.0 / lookups;
+    }
+
+    private static int lookup(PreparedStatement stmt, int id) throws SQLException {
+        stmt.setString(1, command(id));
+        stmt.setString(2, room(id));
+        stmt.setString(3, "true");
+        stmt.setString(4, item(id));
+        stmt.setString(5, "0");
+        try (ResultSet rs = stmt.executeQuery()) {
+            return rs.next() ? 1 : 0;
+        }
+    }
+
+    private static String command(int id) {
+        return (id & 1) == 0 ? "Osserva" : "Prendi";
+    }
+
+    private static String room(int id) {
+        return "Stanza" + (id % STANZE);
+    }
+
+    private static String item(int id) {
+        return "Oggetto" + (id / 2);
+    }
+}
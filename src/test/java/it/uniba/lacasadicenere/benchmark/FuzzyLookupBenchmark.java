@@ -0,0 +1,124 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+
+package it.uniba.lacasadicenere.benchmark;
+
+import it.uniba.lacasadicenere.controller.CommandLexicon;
+import it.uniba.lacasadicenere.controller.GameController;
+import it.uniba.lacasadicenere.util.FuzzyIndex;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Misura il tempo di una ricerca tollerante agli errori di battitura: sul lessico dei comandi
+ * di gioco e su dizionari di 100, 1.000 e 10.000 parole sintetiche, con distanza massima 1 e 2.
+ * Le parole cercate sono parole del dizionario con un errore casuale.
+ */
+public class FuzzyLookupBenchmark {
+
+    private static final int[] SIZES = {100, 1_000, 10_000};
+    private static final int WORDS = 1024;
+    private static final long WARMUP_NANOS = 1_000_000_000L;
+    private static final long MEASURE_NANOS = 2_000_000_000L;
+
+    private static long sink;
+
+    public static void main(String[] args) {
+        Random random = new Random(42);
+
+        CommandLexicon lexicon = CommandLexicon.of(new GameController().getAllCommands());
+        String[] typos = new String[WORDS];
+        String[] verbs = {"prendi", "osserva", "esamina", "lascia", "raccogli", "utilizza", "indietro", "sinistra"};
+        for (int i = 0; i < WORDS; i++) {
+            typos[i] = typo(verbs[random.nextInt(verbs.length)], random);
+        }
+        measure(() -> lexiconRound(lexicon, typos), WARMUP_NANOS);
+        System.out.printf("lessico dei comandi, distanza 1: %.1f ns%n",
+                measure(() -> lexiconRound(lexicon, typos), MEASURE_NANOS));
+
+        System.out.printf("%8s %16s %16s%n", "parole", "distanza 1 (ns)", "distanza 2 (ns)");
+        for (int size : SIZES) {
+            List<String> dictionary = new ArrayList<>();
+            FuzzyIndex<String> index = new FuzzyIndex<>();
+            while (index.size() < size) {
+                String word = word(random);
+                index.put(word, word);
+                dictionary.add(word);
+            }
+            String[] queries = new String[WORDS];
+            for (int i = 0; i < WORDS; i++) {
+                queries[i] = typo(dictionary.get(random.nextInt(dictionary.size())), random);
+            }
+
+            double[] results = new double[2];
+            for (int distance = 1; distance <= 2; distance++) {
+                int d = distance;
+                measure(() -> indexRound(index, queries, d), WARMUP_NANOS);
+                results[distance - 1] = measure(() -> indexRound(index, queries, d), MEASURE_NANOS);
+            }
+            System.out.printf("%8d %16.1f %16.1f%n", size, results[0], results[1]);
+        }
+        if (sink == 42) {
+            System.out.println();
+        }
+    }
+
+    /**
+     * Parola casuale di 5-10 lettere.
+     */
+    private static String word(Random random) {
+        char[] chars = new char[5 + random.nextInt(6)];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = (char) ('a' + random.nextInt(26));
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Introduce un errore: sostituzione, cancellazione o scambio di lettere adiacenti.
+     */
+    private static String typo(String word, Random random) {
+        StringBuilder sb = new StringBuilder(word);
+        int i = random.nextInt(word.length() - 1);
+        switch (random.nextInt(3)) {
+            case 0 -> sb.setCharAt(i, (char) ('a' + random.nextInt(26)));
+            case 1 -> sb.deleteCharAt(i);
+            default -> {
+                sb.setCharAt(i, word.charAt(i + 1));
+                sb.setCharAt(i + 1, word.charAt(i));
+            }
+        }
+        return sb.toString();
+    }
+
+    private static void lexiconRound(CommandLexicon lexicon, String[] words) {
+        for (String word : words) {
+            sink += lexicon.lookup(word, 1) != null ? 1 : 0;
+        }
+    }
+
+    private static void indexRound(FuzzyIndex<String> index, String[] words, int distance) {
+        for (String word : words) {
+            sink += index.find(word, distance) != null ? 1 : 0;
+        }
+    }
+
+    /**
+     * Ripete il round per la durata indicata e restituisce il tempo medio per ricerca in nanosecondi.
+     */
+    private static double measure(Runnable round, long durationNanos) {
+        long start = System.nanoTime();
+        long rounds = 0;
+        long elapsed;
+        do {
+            round.run();
+            rounds++;
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < durationNanos);
+        return (double) elapsed / (rounds * WORDS);
+    }
+}
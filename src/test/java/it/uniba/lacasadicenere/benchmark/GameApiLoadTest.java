@@ -0,0 +1,142 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+
+package it.uniba.lacasadicenere.benchmark;
+
+import it.uniba.lacasadicenere.server.RestServer;
+
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Avvia il server REST e misura quanti comandi al secondo vengono eseguiti
+ * tramite POST /api/games/{id}/commands, con più richieste in volo su più partite.
+ * Riporta anche la latenza mediana e al 99° percentile.
+ * Esegui questo main dalla radice del progetto; argomenti opzionali: porta, partite, richieste in volo.
+ */
+public class GameApiLoadTest {
+
+    private static final String[] SCRIPT = {
+        "osserva", "prendi candela", "inventario", "lascia candela", "est", "ovest"
+    };
+    private static final long WARMUP_NANOS = 3_000_000_000L;
+    private static final long MEASURE_NANOS = 10_000_000_000L;
+
+    public static void main(String[] args) throws Exception {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 18080;
+        int games = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        int inFlight = args.length > 2 ? Integer.parseInt(args[2]) : 64;
+        String base = "http://localhost:" + port + "/api/games";
+
+        RestServer server = new RestServer();
+        server.startServer(port);
+
+        // HTTP/1.1 esplicito: il client HTTP/2 del JDK tenterebbe un upgrade h2c che Grizzly non gestisce.
+        // Executor esplicito: con un solo processore il pool comune non è disponibile e
+        // CompletableFuture creerebbe un thread per ogni risposta
+        ExecutorService clientExecutor = Executors.newFixedThreadPool(2, r -> {
+            Thread thread = new Thread(r, "load-test-client");
+            thread.setDaemon(true);
+            return thread;
+        });
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(clientExecutor)
+                .build();
+        waitForServer(client, "http://localhost:" + port + "/api/credits");
+
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < games; i++) {
+            HttpResponse<String> created = client.send(
+                    HttpRequest.newBuilder(URI.create(base)).POST(HttpRequest.BodyPublishers.noBody()).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            ids.add(created.body().replaceFirst("^\\{\"id\":\"([^\"]+)\".*$", "$1"));
+        }
+        System.out.printf("partite create        %10d%n", games);
+
+        run(client, base, ids, inFlight, WARMUP_NANOS);
+        long[] latencies = run(client, base, ids, inFlight, MEASURE_NANOS);
+
+        Arrays.sort(latencies);
+        System.out.printf("richieste in volo     %10d%n", inFlight);
+        System.out.printf("comandi al secondo    %10.0f%n", latencies.length / (MEASURE_NANOS / 1e9));
+        System.out.printf("latenza mediana       %10.2f ms%n", latencies[latencies.length / 2] / 1e6);
+        System.out.printf("latenza 99 percentile %10.2f ms%n", latencies[(int) (latencies.length * 0.99)] / 1e6);
+
+        server.stopServer();
+        System.exit(0);
+    }
+
+    /**
+     * Invia comandi per la durata indicata, tenendo al più inFlight richieste in volo.
+     * @return le latenze delle risposte, in nanosecondi
+     */
+    private static long[] run(HttpClient client, String base, List<String> ids, int inFlight, long durationNanos)
+            throws InterruptedException {
+        Semaphore slots = new Semaphore(inFlight);
+        AtomicInteger errors = new AtomicInteger();
+        List<Long> latencies = new ArrayList<>();
+        long end = System.nanoTime() + durationNanos;
+
+        for (long n = 0; System.nanoTime() < end; n++) {
+            slots.acquire();
+            String id = ids.get((int) (n % ids.size()));
+            String command = SCRIPT[(int) ((n / ids.size()) % SCRIPT.length)];
+            HttpRequest request = HttpRequest.newBuilder(URI.create(base + "/" + id + "/commands"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"command\":\"" + command + "\"}"))
+                    .build();
+            long start = System.nanoTime();
+            CompletableFuture<HttpResponse<Void>> response =
+                    client.sendAsync(request, HttpResponse.BodyHandlers.discarding());
+            response.whenComplete((r, e) -> {
+                if (e != null || r.statusCode() != 200) {
+                    errors.incrementAndGet();
+                } else {
+                    synchronized (latencies) {
+                        latencies.add(System.nanoTime() - start);
+                    }
+                }
+                slots.release();
+            });
+        }
+        slots.acquire(inFlight);
+
+        if (errors.get() > 0) {
+            System.out.printf("risposte con errore   %10d%n", errors.get());
+        }
+        synchronized (latencies) {
+            return latencies.stream().mapToLong(Long::longValue).toArray();
+        }
+    }
+
+    /**
+     * Attende che il server risponda: startServer avvia Grizzly in un altro thread.
+     */
+    private static void waitForServer(HttpClient client, String url) throws Exception {
+        for (int attempt = 0; ; attempt++) {
+            try {
+                client.send(HttpRequest.newBuilder(URI.create(url)).build(), HttpResponse.BodyHandlers.discarding());
+                return;
+            } catch (ConnectException e) {
+                if (attempt == 50) {
+                    throw e;
+                }
+                Thread.sleep(100);
+            }
+        }
+    }
+}
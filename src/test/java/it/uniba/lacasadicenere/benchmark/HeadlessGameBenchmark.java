@@ -0,0 +1,82 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+
+package it.uniba.lacasadicenere.benchmark;
+
+import it.uniba.lacasadicenere.controller.GameController;
+import it.uniba.lacasadicenere.model.Game;
+import it.uniba.lacasadicenere.service.GameEvents;
+import it.uniba.lacasadicenere.service.InputService;
+import it.uniba.lacasadicenere.service.OutputService;
+import it.uniba.lacasadicenere.type.GameEventListener;
+import it.uniba.lacasadicenere.type.OutputMode;
+
+import java.util.List;
+
+/**
+ * Gioca in sequenza molte partite senza GUI, con una serie fissa di comandi,
+ * e misura quante partite al secondo vengono completate.
+ * Il testo prodotto viene solo contato da un listener, senza effetti di scrittura.
+ * Esegui questo main dalla radice del progetto.
+ */
+public class HeadlessGameBenchmark {
+
+    private static final String[] SCRIPT = {
+        "osserva", "nord", "osserva", "sud", "est", "prendi candela", "inventario", "ovest", "ciao"
+    };
+    private static final int WARMUP_GAMES = 1_000;
+    private static final int GAMES = 5_000;
+
+    private static long chars;
+    private static long events;
+
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+        OutputService.setOutputMode(OutputMode.INSTANT);
+        GameEvents.addListener(new GameEventListener() {
+            @Override
+            public void onText(String text) {
+                chars += text.length();
+                events++;
+            }
+
+            @Override
+            public void onInventoryChanged(List<String> items) {
+                events++;
+            }
+
+            @Override
+            public void onRoomChanged(String roomName) {
+                events++;
+            }
+        });
+
+        play(WARMUP_GAMES);
+        chars = 0;
+        events = 0;
+
+        long start = System.nanoTime();
+        play(GAMES);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("partite giocate      %10d%n", GAMES);
+        System.out.printf("partite al secondo   %10.0f%n", GAMES / seconds);
+        System.out.printf("comandi al secondo   %10.0f%n", GAMES * SCRIPT.length / seconds);
+        System.out.printf("eventi per partita   %10.1f%n", (double) events / GAMES);
+        System.out.printf("caratteri per partita%10.1f%n", (double) chars / GAMES);
+        System.exit(0);
+    }
+
+    private static void play(int games) {
+        GameController gameManager = new GameController();
+        for (int i = 0; i < games; i++) {
+            gameManager.createGame();
+            InputService.setUpGameFlow(Game.getInstance());
+            for (String command : SCRIPT) {
+                InputService.gameFlow(command);
+            }
+        }
+    }
+}
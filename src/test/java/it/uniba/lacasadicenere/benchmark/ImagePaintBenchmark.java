@@ -0,0 +1,64 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+
+package it.uniba.lacasadicenere.benchmark;
+
+import it.uniba.lacasadicenere.util.ImageCache;
+
+import javax.swing.ImageIcon;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+/**
+ * Confronta il disegno di un'immagine di stanza come avveniva in precedenza
+ * (ImageIcon creato a ogni repaint e scalato durante il disegno) con la copia
+ * dell'immagine già scalata presa da ImageCache.
+ * Il disegno avviene su un'immagine fuori schermo della dimensione del pannello.
+ */
+public class ImagePaintBenchmark {
+
+    private static final String IMAGE_PATH = "src/main/resources/img/Stanza1.png";
+    private static final int WIDTH = 550;
+    private static final int HEIGHT = 400;
+    private static final long WARMUP_NANOS = 1_000_000_000L;
+    private static final long MEASURE_NANOS = 3_000_000_000L;
+
+    public static void main(String[] args) {
+        BufferedImage target = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = target.createGraphics();
+
+        long start = System.nanoTime();
+        if (ImageCache.getScaled(IMAGE_PATH, WIDTH, HEIGHT) == null) {
+            throw new IllegalStateException("Immagine non trovata: " + IMAGE_PATH);
+        }
+        System.out.printf("primo caricamento (decodifica e scala) %10.1f ms%n", (System.nanoTime() - start) / 1e6);
+
+        Runnable[] rounds = {
+            () -> g.drawImage(new ImageIcon(IMAGE_PATH).getImage(), 0, 0, WIDTH, HEIGHT, null),
+            () -> g.drawImage(ImageCache.getScaled(IMAGE_PATH, WIDTH, HEIGHT), 0, 0, null)
+        };
+        String[] names = {"precedente", "con cache"};
+        for (int i = 0; i < rounds.length; i++) {
+            measure(rounds[i], WARMUP_NANOS);
+            System.out.printf("%-38s %10.1f us%n", names[i], measure(rounds[i], MEASURE_NANOS) / 1000);
+        }
+        g.dispose();
+    }
+
+    /**
+     * Ripete il round per la durata indicata e restituisce il tempo medio in nanosecondi.
+     */
+    private static double measure(Runnable round, long durationNanos) {
+        long start = System.nanoTime();
+        long rounds = 0;
+        long elapsed;
+        do {
+            round.run();
+            rounds++;
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < durationNanos);
+        return (double) elapsed / rounds;
+    }
+}
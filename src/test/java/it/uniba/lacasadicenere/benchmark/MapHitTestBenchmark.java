@@ -0,0 +1,135 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+
+package it.uniba.lacasadicenere.benchmark;
+
+import it.uniba.lacasadicenere.model.Room;
+import it.uniba.lacasadicenere.model.RoomConnection;
+import it.uniba.lacasadicenere.type.CommandType;
+import it.uniba.lacasadicenere.view.MapLayout;
+
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Confronta la ricerca della stanza sotto il mouse scorrendo tutte le stanze
+ * (come avveniva in precedenza) con l'indice a griglia di MapLayout,
+ * su una mappa a griglia di SIZE x SIZE stanze. Verifica anche che i risultati coincidano.
+ */
+public class MapHitTestBenchmark {
+
+    private static final int SIZE = 40;
+    private static final int POINTS = 4096;
+    private static final long WARMUP_NANOS = 1_000_000_000L;
+    private static final long MEASURE_NANOS = 2_000_000_000L;
+
+    private static long sink;
+
+    public static void main(String[] args) {
+        MapLayout layout = MapLayout.compute(gridMap());
+        Map<String, Rectangle> bounds = layout.getRoomBounds();
+        Rectangle extent = layout.getExtent();
+
+        Random random = new Random(42);
+        double[] xs = new double[POINTS];
+        double[] ys = new double[POINTS];
+        for (int i = 0; i < POINTS; i++) {
+            xs[i] = extent.x + random.nextDouble() * extent.width;
+            ys[i] = extent.y + random.nextDouble() * extent.height;
+            String expected = linearRoomAt(bounds, xs[i], ys[i]);
+            String found = layout.roomAt(xs[i], ys[i]);
+            if (expected == null ? found != null : !expected.equals(found)) {
+                throw new IllegalStateException("Risultati diversi in (" + xs[i] + ", " + ys[i] + ")");
+            }
+        }
+        System.out.printf("%d stanze%n", bounds.size());
+
+        Runnable[] rounds = {
+            () -> {
+                for (int i = 0; i < POINTS; i++) {
+                    String name = linearRoomAt(bounds, xs[i], ys[i]);
+                    sink += name != null ? name.length() : 0;
+                }
+            },
+            () -> {
+                for (int i = 0; i < POINTS; i++) {
+                    String name = layout.roomAt(xs[i], ys[i]);
+                    sink += name != null ? name.length() : 0;
+                }
+            }
+        };
+        String[] names = {"scansione lineare", "indice a griglia"};
+        for (int i = 0; i < rounds.length; i++) {
+            measure(rounds[i], WARMUP_NANOS);
+            System.out.printf("%-20s %10.1f ns/ricerca%n", names[i], measure(rounds[i], MEASURE_NANOS) / POINTS);
+        }
+        if (sink == 42) {
+            System.out.println();
+        }
+    }
+
+    /**
+     * Ricerca usata in precedenza da mouseMoved: controlla tutte le stanze.
+     */
+    private static String linearRoomAt(Map<String, Rectangle> bounds, double x, double y) {
+        for (Map.Entry<String, Rectangle> entry : bounds.entrySet()) {
+            Rectangle r = entry.getValue();
+            if (x >= r.x && x <= r.x + r.width && y >= r.y && y <= r.y + r.height) {
+                return entry.getKey();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Mappa a griglia con corridoi verso est e verso sud.
+     */
+    private static List<RoomConnection> gridMap() {
+        Room[][] rooms = new Room[SIZE][SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            for (int j = 0; j < SIZE; j++) {
+                rooms[i][j] = new Room("R" + i + "_" + j, "", new ArrayList<>());
+            }
+        }
+        List<RoomConnection> corridors = new ArrayList<>();
+        for (int i = 0; i < SIZE; i++) {
+            for (int j = 0; j < SIZE; j++) {
+                if (j + 1 < SIZE) {
+                    corridors.add(connection(rooms[i][j], CommandType.EST, rooms[i][j + 1]));
+                }
+                if (i + 1 < SIZE) {
+                    corridors.add(connection(rooms[i][j], CommandType.SUD, rooms[i + 1][j]));
+                }
+            }
+        }
+        return corridors;
+    }
+
+    private static RoomConnection connection(Room from, CommandType direction, Room to) {
+        RoomConnection c = new RoomConnection();
+        c.setStartingRoom(from);
+        c.setDirection(direction);
+        c.setArrivingRoom(to);
+        return c;
+    }
+
+    /**
+     * Ripete il round per la durata indicata e restituisce il tempo medio in nanosecondi.
+     */
+    private static double measure(Runnable round, long durationNanos) {
+        long start = System.nanoTime();
+        long rounds = 0;
+        long elapsed;
+        do {
+            round.run();
+            rounds++;
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < durationNanos);
+        return (double) elapsed / rounds;
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+
+package it.uniba.lacasadicenere.benchmark;
+
+import it.uniba.lacasadicenere.controller.GameController;
+import it.uniba.lacasadicenere.controller.Parser;
+import it.uniba.lacasadicenere.type.ParserOutput;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Misura tempo e memoria allocata per comando dal Parser, confrontandolo con
+ * la scomposizione precedente basata su split, Stream e String.join.
+ * La memoria allocata è letta dal contatore per thread della JVM.
+ * Esegui questo main dalla radice del progetto.
+ */
+public class ParserBenchmark {
+
+    private static final String[] INPUTS = {
+        "prendi la candela",
+        "usa i fiammiferi sulla candela",
+        "Osserva il TAVOLO",
+        "usa la chiave con lo scrigno",
+        "guarda",
+        "vai verso nord",
+        "lascia il diario sull'altare",
+        "prendi vecchio scrigno arrugginito"
+    };
+
+    private static final int WARMUP = 200_000;
+    private static final int ITERATIONS = 1_000_000;
+
+    private static long sink;
+
+    public static void main(String[] args) {
+        new GameController().createGame();
+        Parser parser = new Parser();
+        ParserOutput output = new ParserOutput();
+        Set<String> stopwords = new HashSet<>(Arrays.asList("il", "la", "lo", "i", "con", "sulla", "verso"));
+
+        run(i -> {
+            ParserOutput o = parser.parse(INPUTS[i % INPUTS.length], output);
+            sink += o.getArgs();
+        }, WARMUP);
+        run(i -> sink += previousTokenize(INPUTS[i % INPUTS.length], stopwords), WARMUP);
+
+        long[] parse = run(i -> {
+            ParserOutput o = parser.parse(INPUTS[i % INPUTS.length], output);
+            sink += o.getArgs();
+        }, ITERATIONS);
+        long[] previous = run(i -> sink += previousTokenize(INPUTS[i % INPUTS.length], stopwords), ITERATIONS);
+
+        System.out.printf("%-36s %10s %10s%n", "", "ns/op", "B/op");
+        System.out.printf("%-36s %10.1f %10.1f%n", "Parser.parse (ParserOutput riusato)",
+                (double) parse[0] / ITERATIONS, (double) parse[1] / ITERATIONS);
+        System.out.printf("%-36s %10.1f %10.1f%n", "scomposizione precedente",
+                (double) previous[0] / ITERATIONS, (double) previous[1] / ITERATIONS);
+    }
+
+    /**
+     * Scomposizione usata in precedenza dal Parser, compresa l'unione delle parole rimanenti.
+     */
+    private static int previousTokenize(String input, Set<String> stopwords) {
+        String[] words = Arrays.stream(input.split("\\s+"))
+                .map(String::toLowerCase)
+                .filter(word -> !word.isEmpty())
+                .filter(word -> !stopwords.contains(word))
+                .toArray(String[]::new);
+        int length = words.length;
+        if (words.length > 1) {
+            length += String.join(" ", Arrays.copyOfRange(words, 1, words.length)).length();
+        }
+        return length;
+    }
+
+    private interface Step {
+        void run(int i);
+    }
+
+    /**
+     * Esegue il passo il numero di volte indicato.
+     * @return tempo totale in nanosecondi e byte allocati dal thread corrente
+     */
+    private static long[] run(Step step, int iterations) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+
+        long bytesBefore = threads.getThreadAllocatedBytes(thread);
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            step.run(i);
+        }
+        long elapsed = System.nanoTime() - start;
+        long bytes = threads.getThreadAllocatedBytes(thread) - bytesBefore;
+        return new long[] {elapsed, bytes};
+    }
+}
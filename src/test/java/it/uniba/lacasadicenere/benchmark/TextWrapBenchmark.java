@@ -0,0 +1,119 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+
+package it.uniba.lacasadicenere.benchmark;
+
+import it.uniba.lacasadicenere.util.TextWrapper;
+
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+/**
+ * Confronta la formattazione di una descrizione lunga con l'algoritmo precedente
+ * (che misurava l'intera riga a ogni parola), con TextWrapper senza cache e con la cache.
+ * Verifica anche che i tre risultati coincidano.
+ */
+public class TextWrapBenchmark {
+
+    private static final String TEXT = ("Un grande camino annerito domina il salone. Sopra la mensola, tra la cenere "
+            + "e i resti di vecchie candele, c'è una vecchia chiave di ferro. Un tappeto logoro copre il pavimento "
+            + "e uno scrigno antico con serratura arrugginita giace su di esso, come se qualcuno lo avesse lasciato "
+            + "lì in fretta. ").repeat(4) + "\n\nLe ombre sembrano muoversi quando la luce della candela trema.";
+
+    private static final int MAX_WIDTH = 520;
+    private static final long WARMUP_NANOS = 1_000_000_000L;
+    private static final long MEASURE_NANOS = 2_000_000_000L;
+
+    private static long sink;
+
+    public static void main(String[] args) {
+        Graphics2D graphics = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB).createGraphics();
+        FontMetrics fontMetrics = graphics.getFontMetrics(new Font("Monospaced", Font.PLAIN, 13));
+
+        String previous = previousWrap(TEXT, fontMetrics, MAX_WIDTH);
+        if (!previous.equals(TextWrapper.wrapUncached(TEXT, fontMetrics, MAX_WIDTH))) {
+            throw new IllegalStateException("I risultati della formattazione non coincidono");
+        }
+        System.out.printf("%d caratteri, %d righe%n", TEXT.length(), previous.split("\n").length);
+
+        Runnable[] rounds = {
+            () -> sink += previousWrap(TEXT, fontMetrics, MAX_WIDTH).length(),
+            () -> sink += TextWrapper.wrapUncached(TEXT, fontMetrics, MAX_WIDTH).length(),
+            () -> sink += TextWrapper.wrap(TEXT, fontMetrics, MAX_WIDTH).length()
+        };
+        String[] names = {"precedente", "lineare senza cache", "con cache"};
+        for (int i = 0; i < rounds.length; i++) {
+            measure(rounds[i], WARMUP_NANOS);
+            System.out.printf("%-22s %12.1f ns%n", names[i], measure(rounds[i], MEASURE_NANOS));
+        }
+        if (sink == 42) {
+            System.out.println();
+        }
+    }
+
+    /**
+     * Formattazione usata in precedenza da OutputService.
+     */
+    private static String previousWrap(String text, FontMetrics fontMetrics, int maxWidth) {
+        StringBuilder result = new StringBuilder();
+        String[] paragraphs = text.split("\n");
+
+        for (int p = 0; p < paragraphs.length; p++) {
+            String paragraph = paragraphs[p];
+
+            if (paragraph.trim().isEmpty()) {
+                result.append("\n");
+                continue;
+            }
+
+            String[] words = paragraph.split("\\s+");
+            StringBuilder currentLine = new StringBuilder();
+
+            for (String word : words) {
+                String testLine = currentLine.length() == 0
+                    ? word
+                    : currentLine + " " + word;
+
+                int lineWidth = fontMetrics.stringWidth(testLine);
+
+                if (lineWidth > maxWidth && currentLine.length() > 0) {
+                    result.append(currentLine).append("\n");
+                    currentLine = new StringBuilder(word);
+                } else {
+                    if (currentLine.length() > 0) {
+                        currentLine.append(" ");
+                    }
+                    currentLine.append(word);
+                }
+            }
+            if (currentLine.length() > 0) {
+                result.append(currentLine);
+            }
+
+            if (p < paragraphs.length - 1) {
+                result.append("\n");
+            }
+        }
+
+        return result.toString();
+    }
+
+    /**
+     * Ripete il round per la durata indicata e restituisce il tempo medio in nanosecondi.
+     */
+    private static double measure(Runnable round, long durationNanos) {
+        long start = System.nanoTime();
+        long rounds = 0;
+        long elapsed;
+        do {
+            round.run();
+            rounds++;
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < durationNanos);
+        return (double) elapsed / rounds;
+    }
+}
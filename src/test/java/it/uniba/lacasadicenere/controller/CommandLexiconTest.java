@@ -0,0 +1,88 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package it.uniba.lacasadicenere.controller;
+
+import it.uniba.lacasadicenere.model.Command;
+import it.uniba.lacasadicenere.type.CommandType;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Test di CommandLexicon.
+ */
+class CommandLexiconTest {
+
+    private final CommandLexicon lexicon = CommandLexicon.of(List.of(
+            new Command("Prendi", List.of("raccogli", "Afferra"), CommandType.PRENDI),
+            new Command("osserva", List.of("guarda", "esamina"), CommandType.OSSERVA),
+            new Command("nord", List.of("n"), CommandType.NORD),
+            new Command("sud", null, CommandType.SUD),
+            new Command("lascia", List.of("guarda"), CommandType.LASCIA)));
+
+    @Test
+    void trovaNomiEAlias() {
+        assertEquals(CommandType.PRENDI, lexicon.lookup("prendi"));
+        assertEquals(CommandType.PRENDI, lexicon.lookup("raccogli"));
+        assertEquals(CommandType.OSSERVA, lexicon.lookup("esamina"));
+        assertEquals(CommandType.NORD, lexicon.lookup("n"));
+        assertEquals(CommandType.SUD, lexicon.lookup("sud"));
+    }
+
+    @Test
+    void registraLeVociInMinuscolo() {
+        assertEquals(CommandType.PRENDI, lexicon.lookup("afferra"));
+        assertNull(lexicon.lookup("Prendi"));
+    }
+
+    @Test
+    void valeLaPrimaOccorrenzaDiUnAlias() {
+        assertEquals(CommandType.OSSERVA, lexicon.lookup("guarda"));
+        assertEquals(10, lexicon.size());
+    }
+
+    @Test
+    void restituisceNullPerLeParoleSconosciute() {
+        assertNull(lexicon.lookup("balla"));
+        assertNull(lexicon.lookup(""));
+        assertNull(lexicon.lookup(null));
+    }
+
+    @Test
+    void trovaTutteLeVociDiUnLessicoGrande() {
+        List<Command> commands = new ArrayList<>();
+        List<String> aliases = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            aliases.add("alias" + i);
+        }
+        commands.add(new Command("usa", aliases, CommandType.USA));
+        CommandLexicon large = CommandLexicon.of(commands);
+
+        assertEquals(501, large.size());
+        for (String alias : aliases) {
+            assertEquals(CommandType.USA, large.lookup(alias));
+        }
+        assertNull(large.lookup("alias500"));
+    }
+
+    @Test
+    void correggeGliErroriSoloSeRichiesto() {
+        assertNull(lexicon.lookup("prnedi", 0));
+        assertEquals(CommandType.PRENDI, lexicon.lookup("prnedi", 1));
+        assertEquals(CommandType.OSSERVA, lexicon.lookup("osseva", 1));
+        assertEquals(CommandType.PRENDI, lexicon.lookup("prendi", 0));
+    }
+
+    @Test
+    void nonCorreggeLeParoleCorte() {
+        assertNull(lexicon.lookup("nrd", 2));
+        assertNull(lexicon.lookup("xyzxyz", 1));
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package it.uniba.lacasadicenere.controller;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Test di Tokenizer.
+ */
+class TokenizerTest {
+
+    private final Tokenizer tokenizer = new Tokenizer(Set.of("il", "la", "con"));
+
+    @Test
+    void scomponeInParoleMinuscole() {
+        assertArrayEquals(new String[] {"prendi", "candela"}, tokens("Prendi CANDELA"));
+    }
+
+    @Test
+    void scartaSpaziEStopwords() {
+        assertArrayEquals(new String[] {"usa", "chiave", "porta"}, tokens("  usa\tla chiave\n con  la porta\r\n"));
+        assertEquals(0, tokenizer.tokenize("Il LA con"));
+    }
+
+    @Test
+    void gestisceInputVuoti() {
+        assertEquals(0, tokenizer.tokenize(null));
+        assertEquals(0, tokenizer.tokenize(""));
+        assertEquals(0, tokenizer.tokenize(" \t "));
+        assertEquals(0, tokenizer.count());
+    }
+
+    @Test
+    void riusaLaStessaIstanzaPerLeParoleGiaViste() {
+        tokenizer.tokenize("osserva stanza");
+        String first = tokenizer.token(1);
+        tokenizer.tokenize("STANZA");
+        assertSame(first, tokenizer.token(0));
+    }
+
+    @Test
+    void superaLaCapacitaIniziale() {
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            input.append("parola").append(i).append(' ');
+        }
+        assertEquals(5000, tokenizer.tokenize(input.toString()));
+        assertEquals("parola0", tokenizer.token(0));
+        assertEquals("parola4999", tokenizer.token(4999));
+
+        // le parole oltre il limite della tabella non sono memorizzate ma restano corrette
+        assertArrayEquals(new String[] {"parola4999", "parola0"}, tokens("parola4999 PAROLA0"));
+    }
+
+    private String[] tokens(String input) {
+        int count = tokenizer.tokenize(input);
+        assertEquals(count, tokenizer.count());
+        return Arrays.copyOf(tokenizer.tokens(), count);
+    }
+}
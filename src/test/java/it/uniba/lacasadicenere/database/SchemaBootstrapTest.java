@@ -0,0 +1,97 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+
+package it.uniba.lacasadicenere.database;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * Test di SchemaBootstrap su un database H2 in memoria.
+ * Gli script vengono letti da src/main/resources, quindi i test vanno eseguiti dalla radice del progetto.
+ */
+class SchemaBootstrapTest {
+
+    private static final int MARKER_ID = 999_999;
+
+    private Connection conn;
+
+    @BeforeEach
+    void open() throws SQLException {
+        conn = DriverManager.getConnection("jdbc:h2:mem:schema" + System.nanoTime(), "sa", "");
+        SchemaBootstrap.run(conn);
+    }
+
+    @AfterEach
+    void close() throws SQLException {
+        conn.close();
+    }
+
+    @Test
+    void registraLeImpronteDegliScript() throws SQLException {
+        assertEquals(2, count("SELECT COUNT(*) FROM SCHEMA_SCRIPT"));
+        assertNotEquals(0, count("SELECT COUNT(*) FROM DESCRIZIONE"));
+    }
+
+    @Test
+    void nonRiesegueGliScriptInvariati() throws SQLException {
+        insertMarker();
+
+        SchemaBootstrap.run(conn);
+
+        assertEquals(1, count("SELECT COUNT(*) FROM DESCRIZIONE WHERE ID = " + MARKER_ID));
+    }
+
+    @Test
+    void ripopolaLeDescrizioniQuandoCambiaLImpronta() throws SQLException {
+        int descriptions = count("SELECT COUNT(*) FROM DESCRIZIONE");
+        String checksum = infoChecksum();
+        insertMarker();
+        try (Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("DELETE FROM DESCRIZIONE WHERE ID = 1");
+            stmt.executeUpdate("UPDATE SCHEMA_SCRIPT SET CHECKSUM = 'vecchia' WHERE NOME = 'db_info.sql'");
+        }
+
+        SchemaBootstrap.run(conn);
+
+        assertEquals(descriptions, count("SELECT COUNT(*) FROM DESCRIZIONE"));
+        assertEquals(0, count("SELECT COUNT(*) FROM DESCRIZIONE WHERE ID = " + MARKER_ID));
+        assertEquals(1, count("SELECT COUNT(*) FROM DESCRIZIONE WHERE ID = 1"));
+        assertEquals(checksum, infoChecksum());
+    }
+
+    private void insertMarker() throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("INSERT INTO DESCRIZIONE(ID, COMANDO, STANZA, STATO, OGGETTO1, OGGETTO2, DESCRIZIONE) "
+                    + "VALUES (" + MARKER_ID + ", 'Test', 'Stanza0', 'true', '0', '0', 'Riga di prova')");
+        }
+    }
+
+    private String infoChecksum() throws SQLException {
+        try (Statement stmt = conn.createStatement();
+                ResultSet rs = stmt.executeQuery("SELECT CHECKSUM FROM SCHEMA_SCRIPT WHERE NOME = 'db_info.sql'")) {
+            rs.next();
+            return rs.getString(1);
+        }
+    }
+
+    private int count(String query) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+                ResultSet rs = stmt.executeQuery(query)) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+
+package it.uniba.lacasadicenere.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test di ItemIndex: ricerca per nome e riconoscimento degli oggetti in una frase.
+ */
+class ItemIndexTest {
+
+    private final Item chiave = new Item("Chiave", "", true, List.of());
+    private final Item chiaveDiFerro = new Item("Chiave di ferro", "", true, List.of("chiave grezza"));
+    private final Item candela = new Item("Candela", "", true, List.of("cero"));
+    private final ItemContainer baule = new ItemContainer("Baule", "", false, List.of());
+
+    private ItemIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ItemIndex();
+        index.setStopwords(Set.of("di", "la"));
+        index.add(chiave);
+        index.add(chiaveDiFerro);
+        index.add(candela);
+        index.add(baule);
+    }
+
+    @Test
+    void trovaPerNomeEAlias() {
+        assertSame(candela, index.find("candela"));
+        assertSame(candela, index.find("cero"));
+        assertSame(chiaveDiFerro, index.find("chiave di ferro"));
+        assertSame(chiaveDiFerro, index.find("chiave ferro"));
+        assertNull(index.find("chiave d'oro"));
+        assertNull(index.find(""));
+    }
+
+    @Test
+    void sceglieIlNomePiuLungo() {
+        assertArrayEquals(new Item[] {chiaveDiFerro, candela}, segment("chiave", "ferro", "candela"));
+        assertArrayEquals(new Item[] {chiave, candela}, segment("chiave", "candela"));
+        assertArrayEquals(new Item[] {chiaveDiFerro}, segment("chiave", "grezza"));
+    }
+
+    @Test
+    void siFermaAllaPrimaParolaSconosciuta() {
+        assertArrayEquals(new Item[] {}, segment("xyz", "candela"));
+        assertArrayEquals(new Item[] {candela}, segment("candela", "xyz", "chiave"));
+    }
+
+    @Test
+    void riempieAlPiuLArrayIndicato() {
+        String[] words = {"candela", "chiave", "baule"};
+        Item[] found = new Item[2];
+        assertEquals(2, index.segment(words, 0, words.length, found));
+        assertArrayEquals(new Item[] {candela, chiave}, found);
+    }
+
+    @Test
+    void indicizzaGliOggettiContenuti() {
+        Item anello = new Item("Anello", "", true, List.of());
+        ItemContainer scrigno = new ItemContainer("Scrigno", "", false, List.of());
+        scrigno.add(anello);
+
+        index.add(scrigno);
+        assertSame(anello, index.find("anello"));
+
+        index.remove(scrigno);
+        assertFalse(index.contains(anello));
+        assertNull(index.find("anello"));
+    }
+
+    @Test
+    void rimuoveUnOggettoSoloDallUltimaPosizione() {
+        index.add(candela);
+        index.remove(candela);
+        assertTrue(index.contains(candela));
+
+        index.remove(candela);
+        assertFalse(index.contains(candela));
+        assertNull(index.find("cero"));
+        assertSame(chiaveDiFerro, index.find("chiave ferro"));
+    }
+
+    @Test
+    void correggeLeParoleSoloSeRichiesto() {
+        assertArrayEquals(new Item[] {}, segment(0, "candla"));
+        assertArrayEquals(new Item[] {candela}, segment(1, "candla"));
+        assertArrayEquals(new Item[] {chiaveDiFerro}, segment(1, "chaive", "ferri"));
+    }
+
+    @Test
+    void correggeSoloVersoLeParoleCheProseguonoUnNome() {
+        Item scatola = new Item("Scatola di candele", "", true, List.of());
+        index.add(scatola);
+
+        // "candelx" dista 1 sia da "candela" sia da "candele", ma solo una prosegue ciascun nodo
+        assertArrayEquals(new Item[] {candela}, segment(1, "candelx"));
+        assertArrayEquals(new Item[] {scatola}, segment(1, "scatola", "candelx"));
+        assertArrayEquals(new Item[] {chiave, candela}, segment(1, "chiave", "candea"));
+    }
+
+    private Item[] segment(String... words) {
+        return segment(0, words);
+    }
+
+    private Item[] segment(int maxDistance, String... words) {
+        Item[] found = new Item[words.length];
+        int count = index.segment(words, 0, words.length, found, maxDistance);
+        Item[] result = new Item[count];
+        System.arraycopy(found, 0, result, 0, count);
+        return result;
+    }
+}
@@ -0,0 +1,129 @@
+package it.uniba.lacasadicenere.server;
+
+import org.glassfish.grizzly.http.server.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test di CreditsHandler: negoziazione della codifica gzip e risposte 304 con ETag.
+ */
+class CreditsHandlerTest {
+
+    private static HttpServer server;
+    private static URI uri;
+    private static final HttpClient client = HttpClient.newHttpClient();
+
+    @BeforeAll
+    static void start() throws IOException {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        server = HttpServer.createSimpleServer(null, "localhost", port);
+        server.getServerConfiguration().addHttpHandler(new CreditsHandler(), "/api/credits");
+        server.start();
+        uri = URI.create("http://localhost:" + port + "/api/credits");
+    }
+
+    @AfterAll
+    static void stop() {
+        server.shutdownNow();
+    }
+
+    @Test
+    void accettaGzipSecondoAcceptEncoding() {
+        assertTrue(CreditsHandler.acceptsGzip("gzip"));
+        assertTrue(CreditsHandler.acceptsGzip("deflate, GZIP;q=0.5"));
+        assertTrue(CreditsHandler.acceptsGzip("x-gzip"));
+        assertTrue(CreditsHandler.acceptsGzip("br, *"));
+        assertFalse(CreditsHandler.acceptsGzip(null));
+        assertFalse(CreditsHandler.acceptsGzip("identity"));
+        assertFalse(CreditsHandler.acceptsGzip("gzip;q=0"));
+        assertFalse(CreditsHandler.acceptsGzip("gzip;q=0, *"));
+        assertFalse(CreditsHandler.acceptsGzip("*;q=0"));
+        assertFalse(CreditsHandler.acceptsGzip("gzip;q=abc"));
+    }
+
+    @Test
+    void confrontaGliETagInModoDebole() {
+        assertTrue(CreditsHandler.matchesETag("\"abc\"", "\"abc\""));
+        assertTrue(CreditsHandler.matchesETag("W/\"abc\"", "\"abc\""));
+        assertTrue(CreditsHandler.matchesETag("\"x\", \"abc\"", "\"abc\""));
+        assertTrue(CreditsHandler.matchesETag("*", "\"abc\""));
+        assertFalse(CreditsHandler.matchesETag(null, "\"abc\""));
+        assertFalse(CreditsHandler.matchesETag("\"abc-gzip\"", "\"abc\""));
+    }
+
+    @Test
+    void inviaLaPaginaCompressaSeRichiesto() throws Exception {
+        HttpResponse<byte[]> plain = get(null, null);
+        HttpResponse<byte[]> gzipped = get("gzip", null);
+
+        assertEquals(200, plain.statusCode());
+        assertFalse(plain.headers().firstValue("Content-Encoding").isPresent());
+        assertEquals(200, gzipped.statusCode());
+        assertEquals("gzip", gzipped.headers().firstValue("Content-Encoding").orElse(null));
+        assertEquals("Accept-Encoding", gzipped.headers().firstValue("Vary").orElse(null));
+        assertTrue(gzipped.body().length < plain.body().length);
+        assertArrayEquals(plain.body(), gunzip(gzipped.body()));
+        assertNotEquals(etag(plain), etag(gzipped));
+    }
+
+    @Test
+    void rispondeNotModifiedSoloPerLaStessaRappresentazione() throws Exception {
+        String plainTag = etag(get(null, null));
+        String gzipTag = etag(get("gzip", null));
+
+        HttpResponse<byte[]> notModified = get("gzip", gzipTag);
+        assertEquals(304, notModified.statusCode());
+        assertEquals(0, notModified.body().length);
+        assertEquals(304, get(null, "W/" + plainTag).statusCode());
+
+        assertEquals(200, get("gzip", plainTag).statusCode());
+        assertEquals(200, get(null, gzipTag).statusCode());
+    }
+
+    @Test
+    void rifiutaIMetodiDiversiDaGet() throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri).POST(HttpRequest.BodyPublishers.noBody()).build();
+        assertEquals(405, client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode());
+    }
+
+    private static HttpResponse<byte[]> get(String acceptEncoding, String ifNoneMatch) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri).GET();
+        if (acceptEncoding != null) {
+            request.header("Accept-Encoding", acceptEncoding);
+        }
+        if (ifNoneMatch != null) {
+            request.header("If-None-Match", ifNoneMatch);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private static String etag(HttpResponse<?> response) {
+        return response.headers().firstValue("ETag").orElseThrow();
+    }
+
+    private static byte[] gunzip(byte[] data) throws IOException {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(data))) {
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+
+package it.uniba.lacasadicenere.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test di GameSessionRegistry: limite delle sessioni attive e rimozione di quelle inattive.
+ * Ogni sessione crea una partita completa, quindi i test vanno eseguiti dalla radice del progetto.
+ */
+class GameSessionRegistryTest {
+
+    private final int initialMax = GameSessionRegistry.getMaxSessions();
+
+    private final List<GameSession> created = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        for (GameSession session : created) {
+            GameSessionRegistry.remove(session.getId());
+        }
+        GameSessionRegistry.setMaxSessions(initialMax);
+    }
+
+    @Test
+    void creaSessioniIndipendenti() {
+        GameSession first = create();
+        GameSession second = create();
+
+        assertSame(first, GameSessionRegistry.get(first.getId()));
+        assertNotNull(first.getGame());
+        assertNotNull(second.getGame());
+        assertNull(GameSessionRegistry.get("sconosciuta"));
+        assertNull(GameSessionRegistry.get(null));
+    }
+
+    @Test
+    void rifiutaLeSessioniOltreIlLimite() {
+        GameSessionRegistry.setMaxSessions(GameSessionRegistry.size() + 2);
+        GameSession first = create();
+        create();
+
+        assertThrows(GameSessionRegistry.SessionLimitException.class, () -> GameSessionRegistry.create(null));
+
+        assertSame(first, GameSessionRegistry.remove(first.getId()));
+        assertNull(GameSessionRegistry.remove(first.getId()));
+        create();
+        assertThrows(GameSessionRegistry.SessionLimitException.class, () -> GameSessionRegistry.create(null));
+    }
+
+    @Test
+    void ilLimiteEAlmenoUno() {
+        GameSessionRegistry.setMaxSessions(0);
+        assertEquals(1, GameSessionRegistry.getMaxSessions());
+    }
+
+    @Test
+    void rimuoveSoloLeSessioniInattive() throws InterruptedException {
+        GameSession idle = create();
+        Thread.sleep(300);
+        GameSession active = create();
+        active.run(() -> { });
+
+        int removed = GameSessionRegistry.evictIdle(TimeUnit.MILLISECONDS.toNanos(200));
+
+        assertEquals(1, removed);
+        assertNull(GameSessionRegistry.get(idle.getId()));
+        assertSame(active, GameSessionRegistry.get(active.getId()));
+    }
+
+    @Test
+    void laRimozioneLiberaPostiPerNuoveSessioni() throws InterruptedException {
+        GameSessionRegistry.setMaxSessions(GameSessionRegistry.size() + 1);
+        create();
+        assertThrows(GameSessionRegistry.SessionLimitException.class, () -> GameSessionRegistry.create(null));
+
+        Thread.sleep(50);
+        GameSessionRegistry.evictIdle(TimeUnit.MILLISECONDS.toNanos(10));
+        create();
+    }
+
+    private GameSession create() {
+        GameSession session = GameSessionRegistry.create(null);
+        created.add(session);
+        return session;
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+
+package it.uniba.lacasadicenere.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test di FuzzyIndex.
+ */
+class FuzzyIndexTest {
+
+    private FuzzyIndex<String> index;
+
+    @BeforeEach
+    void setUp() {
+        index = new FuzzyIndex<>();
+        for (String word : new String[] {"prendi", "osserva", "candela", "candele", "lanterna"}) {
+            index.put(word, word);
+        }
+    }
+
+    @Test
+    void trovaLeParoleEsatte() {
+        assertEquals("prendi", index.find("prendi", 0));
+        assertNull(index.find("prend", 0));
+        assertTrue(index.contains("candela"));
+        assertEquals(5, index.size());
+    }
+
+    @Test
+    void correggeSostituzioniInserimentiCancellazioniEScambi() {
+        assertEquals("prendi", index.find("prandi", 1));
+        assertEquals("prendi", index.find("prendii", 1));
+        assertEquals("prendi", index.find("prndi", 1));
+        assertEquals("prendi", index.find("prnedi", 1));
+    }
+
+    @Test
+    void rispettaLaDistanzaMassima() {
+        assertNull(index.find("pradni", 1));
+        assertEquals("prendi", index.find("pradni", 2));
+        assertEquals("lanterna", index.find("lntrna", FuzzyIndex.MAX_DISTANCE + 1));
+        assertNull(index.find("lnterrna", 1));
+    }
+
+    @Test
+    void applicaIlFiltroAiCandidati() {
+        assertEquals("candele", index.find("candelx", 1, "candele"::equals));
+        assertEquals("candele", index.find("candela", 1, "candele"::equals));
+        assertNull(index.find("prandi", 1, word -> false));
+    }
+
+    @Test
+    void dimenticaLeParoleRimosse() {
+        index.remove("prendi");
+        assertFalse(index.contains("prendi"));
+        assertNull(index.find("prandi", 1));
+    }
+
+    @Test
+    void laCopiaEIndipendente() {
+        FuzzyIndex<String> copy = index.copy();
+        copy.put("parla", "parla");
+        index.remove("osserva");
+
+        assertEquals("parla", copy.find("prala", 1));
+        assertNull(index.find("prala", 1));
+        assertEquals("osserva", copy.find("oserva", 1));
+    }
+
+    @Test
+    void tolleraUnErroreOgniQuattroLettere() {
+        assertEquals(0, FuzzyIndex.tolerance("sud", 2));
+        assertEquals(1, FuzzyIndex.tolerance("nord", 2));
+        assertEquals(2, FuzzyIndex.tolerance("lanterna", 2));
+        assertEquals(1, FuzzyIndex.tolerance("lanterna", 1));
+    }
+}